@@ -0,0 +1,99 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSearchRequestDto;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency against a PostgreSQL container holding a million artifacts, migrated with the
+ * application changelog. Needs Docker; reports p50/p99 per query shape.
+ * Not part of the default {@code jmh} profile run, select it with {@code -Djmh.args=ArtifactSearch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArtifactSearchBenchmark {
+
+    private static final int ARTIFACTS = 1_000_000;
+
+    // ~2k, ~10k, ~10k and ~100k matches out of a million
+    @Param({"origin-17", "ring shadow", "\"crown of kings\" -tag-3", "ring"})
+    private String query;
+
+    @Param({"false", "true"})
+    private boolean filtered;
+
+    private PostgreSQLContainer container;
+    private ArtifactSearchRepository searchRepository;
+    private ArtifactSqlFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        container = new PostgreSQLContainer(DockerImageName.parse("postgres:latest"));
+        container.start();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword());
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:liquibase-changelog.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+        searchRepository = new ArtifactSearchRepository(jdbcTemplate);
+
+        ArtifactSearchRequestDto request = new ArtifactSearchRequestDto();
+        if (filtered) {
+            request.setPowerFrom(5000);
+            request.setTagsAny(List.of("tag-17", "tag-42", "tag-99"));
+        }
+        filter = ArtifactSqlFilter.of(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.stop();
+    }
+
+    @Benchmark
+    public List<Long> firstPage() {
+        return searchRepository.searchIds(query, filter, 0, 21);
+    }
+
+    @Benchmark
+    public List<Long> fifthPage() {
+        return searchRepository.searchIds(query, filter, 80, 21);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO creator (name, race, realm)
+                SELECT 'Creator ' || g, 'Elf', 'Eregion'
+                FROM generate_series(1, 200) g""");
+        jdbcTemplate.update("""
+                INSERT INTO artifact (name, creator_id, origin, tags, year_created, power_level)
+                SELECT (ARRAY['Ring', 'Sword', 'Stone', 'Phial', 'Crown', 'Helm', 'Staff', 'Blade', 'Horn', 'Cloak'])[1 + g % 10]
+                           || ' of ' || (ARRAY['Fire', 'Water', 'Shadow', 'Light', 'Doom', 'Kings', 'Elves', 'Durin', 'Numenor', 'Gondor'])[1 + g / 10 % 10]
+                           || ' ' || g,
+                       c.ids[1 + g % array_length(c.ids, 1)], 'Origin-' || (g % 500),
+                       'Tag-' || (g % 1000) || ',Tag-' || (g % 997),
+                       (g * 7919) % 10001, (g * 104729) % 10001
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id ORDER BY id) AS ids FROM creator) c""", ARTIFACTS);
+        jdbcTemplate.execute("VACUUM ANALYZE artifact");
+    }
+}
@@ -0,0 +1,55 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArtifactCsvBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int artifacts;
+
+    private List<Artifact> data;
+    private Object[] fieldValues;
+
+    @Setup
+    public void setUp() {
+        data = ArtifactPayloads.artifacts(artifacts);
+        fieldValues = data.stream()
+                .limit(10_000)
+                .flatMap(a -> Stream.of(a.getName(), a.getOrigin(), a.getTags(), a.getPowerLevel()))
+                .toArray();
+    }
+
+    // Same writer stack as ArtifactService.writeArtifactsReport, minus the socket
+    @Benchmark
+    public void writeReport() throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+        ArtifactCsvWriter csvWriter = new ArtifactCsvWriter(writer);
+        csvWriter.writeHeader();
+        for (Artifact artifact : data) {
+            csvWriter.writeArtifact(artifact);
+        }
+        csvWriter.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(40_000)
+    public void escapeCsv(Blackhole blackhole) {
+        for (Object value : fieldValues) {
+            blackhole.consume(ArtifactCsvWriter.escapeCsv(value));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import com.profitsoft.lotrartifactsrest.model.Creator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArtifactMappingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int artifacts;
+
+    private List<ArtifactSaveDto> saveDtos;
+    private List<Artifact> entities;
+    private Creator creator;
+
+    @Setup
+    public void setUp() {
+        saveDtos = ArtifactPayloads.saveDtos(artifacts);
+        entities = ArtifactPayloads.artifacts(artifacts);
+        creator = entities.getFirst().getCreator();
+    }
+
+    @Benchmark
+    public void convertToEntity(Blackhole blackhole) {
+        for (ArtifactSaveDto dto : saveDtos) {
+            blackhole.consume(ArtifactService.convertToEntity(dto, creator));
+        }
+    }
+
+    @Benchmark
+    public void convertToDetailsDto(Blackhole blackhole) {
+        for (Artifact artifact : entities) {
+            blackhole.consume(ArtifactService.convertToDetailsDto(artifact));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import com.profitsoft.lotrartifactsrest.model.Creator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic artifact payloads for benchmarks. Names and origins mix non-ASCII text like the
+ * sample upload file, and a share of the values contain commas, quotes or line breaks that force CSV quoting.
+ */
+final class ArtifactPayloads {
+
+    private static final String[] NAMES = {
+            "The One Ring", "Barad-dûr Foundations Stone", "Palantír of Minas Ithil", "Morgul Blade",
+            "Nenya (Ring of Adamant)", "Fëanor's Lamp", "Silmaril of \"Light\"", "Helm of the Mouth of Sauron"
+    };
+    private static final String[] ORIGINS = {
+            "Mount Doom", "Mordor", "Minas Ithil", "Eregion", "Valinor", "Barad-dûr", "Tirion, Valinor", "Khazad-dûm"
+    };
+    private static final String[] TAGS = {
+            "ring,master-ring,shadow,forging", "fortress,stone", "palantir", "helm,black-númenórean,terror",
+            "jewel,\"holy\" light", "weapon\nknife"
+    };
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private ArtifactPayloads() {
+    }
+
+    static List<ArtifactSaveDto> saveDtos(int count) {
+        Random random = new Random(42);
+        List<ArtifactSaveDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(ArtifactSaveDto.builder()
+                    .name(NAMES[random.nextInt(NAMES.length)] + " #" + i)
+                    .creatorId(1L + random.nextInt(4))
+                    .origin(ORIGINS[random.nextInt(ORIGINS.length)])
+                    .tags(TAGS[random.nextInt(TAGS.length)])
+                    .yearCreated(random.nextInt(3500))
+                    .powerLevel(random.nextInt(10_001))
+                    .build());
+        }
+        return dtos;
+    }
+
+    static JsonMapper mapper() {
+        return JSON;
+    }
+
+    static byte[] json(int count) {
+        return JSON.writeValueAsBytes(saveDtos(count));
+    }
+
+    static byte[] ndjson(int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ArtifactSaveDto dto : saveDtos(count)) {
+            out.writeBytes(JSON.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    static List<Artifact> artifacts(int count) {
+        List<Creator> creators = creators();
+        List<Artifact> artifacts = new ArrayList<>(count);
+        long id = 1;
+        for (ArtifactSaveDto dto : saveDtos(count)) {
+            Artifact artifact = ArtifactService.convertToEntity(dto, creators.get((int) (dto.getCreatorId() - 1)));
+            artifact.setId(id++);
+            artifacts.add(artifact);
+        }
+        return artifacts;
+    }
+
+    private static List<Creator> creators() {
+        String[][] seed = {
+                {"Sauron", "Maia", "Mordor"},
+                {"Celebrimbor", "Elf", "Eregion"},
+                {"Fëanor", "Elf", "Valinor"},
+                {"Aulë", "Vala", "Valinor"}
+        };
+        List<Creator> creators = new ArrayList<>();
+        for (int i = 0; i < seed.length; i++) {
+            Creator creator = new Creator();
+            creator.setId(i + 1L);
+            creator.setName(seed[i][0]);
+            creator.setRace(seed[i][1]);
+            creator.setRealm(seed[i][2]);
+            creators.add(creator);
+        }
+        return creators;
+    }
+}
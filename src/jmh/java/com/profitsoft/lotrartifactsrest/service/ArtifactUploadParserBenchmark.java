@@ -0,0 +1,43 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArtifactUploadParserBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int artifacts;
+
+    @Param({MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    private String format;
+
+    private ArtifactUploadParser parser;
+    private MediaType mediaType;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        parser = new ArtifactUploadParser(ArtifactPayloads.mapper());
+        mediaType = MediaType.parseMediaType(format);
+        payload = MediaType.APPLICATION_NDJSON.equals(mediaType)
+                ? ArtifactPayloads.ndjson(artifacts)
+                : ArtifactPayloads.json(artifacts);
+    }
+
+    @Benchmark
+    public ArtifactImportProgress parse(Blackhole blackhole) {
+        ArtifactImportProgress progress = new ArtifactImportProgress();
+        parser.parse(new ByteArrayInputStream(payload), mediaType, blackhole::consume, progress);
+        return progress;
+    }
+}
@@ -1,7 +1,12 @@
 package com.profitsoft.lotrartifactsrest.controller;
 
 import com.profitsoft.lotrartifactsrest.dto.*;
+import com.profitsoft.lotrartifactsrest.service.ArtifactImportJobService;
+import com.profitsoft.lotrartifactsrest.service.ArtifactPrecondition;
+import com.profitsoft.lotrartifactsrest.service.ArtifactResponseCache;
 import com.profitsoft.lotrartifactsrest.service.ArtifactService;
+import com.profitsoft.lotrartifactsrest.service.ArtifactStatsService;
+import com.profitsoft.lotrartifactsrest.service.PayloadCompression;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +19,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/artifact")
@@ -21,6 +31,8 @@ import org.springframework.web.multipart.MultipartFile;
 @Tag(name = "Artifacts", description = "API for managing artifacts")
 public class ArtifactController {
     private final ArtifactService artifactService;
+    private final ArtifactImportJobService artifactImportJobService;
+    private final ArtifactStatsService artifactStatsService;
 
     @Operation(summary = "Save artifact entity", description = "Saves artifact entity to the database")
     @ApiResponses(value = {
@@ -36,56 +48,163 @@ public class ArtifactController {
         return artifactService.saveArtifact(artifactSaveDto);
     }
 
-    @Operation(summary = "Get artifact by ID", description = "Retrieves artifact details by its ID")
+    @Operation(summary = "Get artifact by ID", description = "Retrieves artifact details by its ID; supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Artifact found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactDetailsDto.class))),
+            @ApiResponse(responseCode = "304", description = "Artifact not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Artifact not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
     })
     @GetMapping("/{artifactId}")
-    public ArtifactDetailsDto getArtifactById(@Parameter(description = "ID of the artifact to retrieve", required = true)
-                                              @PathVariable Long artifactId) {
-        return artifactService.getArtifactById(artifactId);
+    public ResponseEntity<ArtifactDetailsDto> getArtifactById(@Parameter(description = "ID of the artifact to retrieve", required = true)
+                                                              @PathVariable Long artifactId,
+                                                              @Parameter(description = "ETag of a previously received response")
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String currentEtag = artifactService.matchArtifactEtag(artifactId, ifNoneMatch);
+        if (currentEtag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+        }
+        return withEtag(artifactService.getTaggedArtifactById(artifactId));
     }
 
-    @Operation(summary = "Get page of artifacts", description = "Retrieves artifacts in pageable format")
+    @Operation(summary = "Get page of artifacts", description = "Retrieves artifacts in pageable format; supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Artifact found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactListResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
     })
     @PostMapping("/_list")
-    public ArtifactListResponseDto getArtifactList(@Valid @Parameter(description = "Filters and pageable data", required = true)
-                                                       @RequestBody ArtifactListRequestDto artifactListRequestDto) {
-        return artifactService.getPageableArtifactsList(artifactListRequestDto);
+    public ResponseEntity<byte[]> getArtifactList(@Valid @Parameter(description = "Filters and pageable data", required = true)
+                                                  @RequestBody ArtifactListRequestDto artifactListRequestDto,
+                                                  @Parameter(description = "ETag of a previously received response")
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = artifactService.getArtifactsListEtag(artifactListRequestDto);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ArtifactResponseCache.Entry page = artifactService.getCachedArtifactsList(artifactListRequestDto);
+        return ResponseEntity.ok()
+                .eTag(page.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
+    }
+
+    @Operation(summary = "Search artifacts", description = "Full-text search over name, origin and tags, best matches first; "
+            + "name matches rank above origin and tag matches. Accepts the same filters as /_list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching artifacts",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactListResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid search request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/_search")
+    public ArtifactListResponseDto searchArtifacts(@Valid @Parameter(description = "Search terms, filters and page", required = true)
+                                                   @RequestBody ArtifactSearchRequestDto artifactSearchRequestDto) {
+        return artifactService.searchArtifacts(artifactSearchRequestDto);
+    }
+
+    @Operation(summary = "Get artifact statistics", description = "Count, min, max and average power level grouped by creator, "
+            + "origin or year bucket. Accepts the same filters as /_list; unfiltered requests are answered from a periodically refreshed summary")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aggregates computed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactStatsResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid stats request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/_stats")
+    public ArtifactStatsResponseDto getArtifactStats(@Valid @Parameter(description = "Grouping and filters", required = true)
+                                                     @RequestBody ArtifactStatsRequestDto artifactStatsRequestDto) {
+        return artifactStatsService.getStats(artifactStatsRequestDto);
+    }
+
+    @Operation(summary = "Update artifacts by filter", description = "Sets the given fields on every artifact matching the filter "
+            + "in a single statement; dryRun only counts the matches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Artifacts updated or counted",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactBulkResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty filter, no fields to set or invalid values",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Creator not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/_bulk-update")
+    public ArtifactBulkResponseDto bulkUpdateArtifacts(@Valid @Parameter(description = "Filter and fields to set", required = true)
+                                                       @RequestBody ArtifactBulkUpdateRequestDto artifactBulkUpdateRequestDto) {
+        return artifactService.bulkUpdateArtifacts(artifactBulkUpdateRequestDto);
     }
 
-    @Operation(summary = "Update artifact by ID", description = "Updates artifact details by its ID")
+    @Operation(summary = "Delete artifacts by filter", description = "Deletes every artifact matching the filter "
+            + "in a single statement; dryRun only counts the matches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Artifacts deleted or counted",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactBulkResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/_bulk-delete")
+    public ArtifactBulkResponseDto bulkDeleteArtifacts(@Valid @Parameter(description = "Filter", required = true)
+                                                       @RequestBody ArtifactBulkDeleteRequestDto artifactBulkDeleteRequestDto) {
+        return artifactService.bulkDeleteArtifacts(artifactBulkDeleteRequestDto);
+    }
+
+    @Operation(summary = "Update artifact by ID", description = "Updates artifact details by its ID; supports If-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Artifact updated",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactDetailsDto.class))),
             @ApiResponse(responseCode = "404", description = "Artifact or creator not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "Artifact changed since the given ETags, or missing with If-Match: *",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
     })
     @PutMapping("/{artifactId}")
-    public ArtifactDetailsDto updateArtifact(@Parameter(description = "ID of the artifact to update", required = true)
-                                             @PathVariable Long artifactId,
-                                             @Valid @Parameter(description = "Updated artifact data", required = true)
-                                             @RequestBody ArtifactSaveDto artifactSaveDto) {
-        return artifactService.updateArtifact(artifactId, artifactSaveDto);
+    public ResponseEntity<ArtifactDetailsDto> updateArtifact(@Parameter(description = "ID of the artifact to update", required = true)
+                                                             @PathVariable Long artifactId,
+                                                             @Valid @Parameter(description = "Updated artifact data", required = true)
+                                                             @RequestBody ArtifactSaveDto artifactSaveDto,
+                                                             @Parameter(description = "ETag the update is conditional on")
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withEtag(artifactService.updateArtifact(artifactId, artifactSaveDto, ArtifactPrecondition.ifMatch(ifMatch)));
+    }
+
+    @Operation(summary = "Partially update artifact by ID",
+            description = "Updates only the given fields in a single statement; supports If-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Artifact updated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactDetailsDto.class))),
+            @ApiResponse(responseCode = "400", description = "No field to update",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Artifact or creator not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "Artifact changed since the given ETags, or missing with If-Match: *",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PatchMapping("/{artifactId}")
+    public ResponseEntity<ArtifactDetailsDto> patchArtifact(@Parameter(description = "ID of the artifact to update", required = true)
+                                                            @PathVariable Long artifactId,
+                                                            @Valid @Parameter(description = "Fields to change", required = true)
+                                                            @RequestBody ArtifactPatchDto artifactPatchDto,
+                                                            @Parameter(description = "ETag the update is conditional on")
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withEtag(artifactService.patchArtifact(artifactId, artifactPatchDto, ArtifactPrecondition.ifMatch(ifMatch)));
     }
 
-    @Operation(summary = "Delete artifact by ID", description = "Deletes artifact by its ID")
+    @Operation(summary = "Delete artifact by ID", description = "Deletes artifact by its ID; supports If-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Artifact deleted"),
             @ApiResponse(responseCode = "404", description = "Artifact not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "Artifact changed since the given ETags, or missing with If-Match: *",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
     })
     @DeleteMapping("/{artifactId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteArtifact(@Parameter(description = "ID of the artifact to delete", required = true)
-                               @PathVariable Long artifactId) {
-        artifactService.deleteArtifact(artifactId);
+                               @PathVariable Long artifactId,
+                               @Parameter(description = "ETag the delete is conditional on")
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        artifactService.deleteArtifact(artifactId, ArtifactPrecondition.ifMatch(ifMatch));
     }
 
     @Operation(summary = "Import artifacts from JSON file", description = "Imports artifacts from uploaded JSON array")
@@ -95,10 +214,79 @@ public class ArtifactController {
             @ApiResponse(responseCode = "400", description = "Invalid input file",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
     })
-    @PostMapping("/upload")
-    public ArtifactImportResponseDto importArtifacts(@Parameter(description = "JSON file with artifact records", required = true)
-                                                     @RequestParam("file") MultipartFile file) {
-        return artifactService.importArtifacts(file);
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ArtifactImportResponseDto importArtifacts(@Parameter(description = "JSON array or NDJSON file with artifact records", required = true)
+                                                     @RequestParam("file") MultipartFile file,
+                                                     @Parameter(description = "Import mode: BATCH (default) or COPY for very large files")
+                                                     @RequestParam(value = "mode", defaultValue = "BATCH") ArtifactImportMode mode) {
+        return artifactService.importArtifacts(file, mode);
+    }
+
+    @Operation(summary = "Import artifacts from request body",
+            description = "Imports artifacts from a JSON array or NDJSON request body, read as it streams in")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactImportResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping(value = "/upload", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ArtifactImportResponseDto importArtifactsStream(@Parameter(hidden = true) InputStream body,
+                                                           @Parameter(hidden = true)
+                                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           @Parameter(description = "gzip or zstd for a compressed body")
+                                                           @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                                                           @Parameter(description = "Import mode: BATCH (default) or COPY for very large files")
+                                                           @RequestParam(value = "mode", defaultValue = "BATCH") ArtifactImportMode mode) {
+        return artifactService.importArtifacts(body, contentEncoding, contentType, mode);
+    }
+
+    @Operation(summary = "Start asynchronous artifact import",
+            description = "Accepts a JSON file for background import and returns the job to poll for progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job accepted",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactImportJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input file",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "429", description = "Too many import jobs in progress",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/upload/jobs")
+    public ResponseEntity<ArtifactImportJobDto> submitImportJob(@Parameter(description = "JSON file with artifact records", required = true)
+                                                                @RequestParam("file") MultipartFile file,
+                                                                @Parameter(description = "Import mode: BATCH (default) or COPY for very large files")
+                                                                @RequestParam(value = "mode", defaultValue = "BATCH") ArtifactImportMode mode) {
+        ArtifactImportJobDto job = artifactImportJobService.submit(file, mode);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/artifact/upload/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Get import job", description = "Retrieves progress and, once finished, the result of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import job found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactImportJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/upload/jobs/{jobId}")
+    public ArtifactImportJobDto getImportJob(@Parameter(description = "ID of the import job", required = true)
+                                             @PathVariable String jobId) {
+        return artifactImportJobService.getJob(jobId);
+    }
+
+    @Operation(summary = "Cancel import job",
+            description = "Cancels a queued or running import job; chunks already committed by a BATCH import are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation requested",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArtifactImportJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @DeleteMapping("/upload/jobs/{jobId}")
+    public ArtifactImportJobDto cancelImportJob(@Parameter(description = "ID of the import job", required = true)
+                                                @PathVariable String jobId) {
+        return artifactImportJobService.cancel(jobId);
     }
 
     @Operation(summary = "Get artifact report", description = "Generates CSV report for artifacts matching filters")
@@ -106,14 +294,39 @@ public class ArtifactController {
             @ApiResponse(responseCode = "200", description = "Report generated", content = @Content(mediaType = "text/csv")),
     })
     @PostMapping("/_report")
-    public ResponseEntity<byte[]> getArtifactReport(@Valid @Parameter(description = "Filters for report", required = true)
-                                                    @RequestBody ArtifactListRequestDto artifactListRequestDto) {
-        byte[] reportContent = artifactService.generateArtifactsReport(artifactListRequestDto);
+    public ResponseEntity<StreamingResponseBody> getArtifactReport(@Valid @Parameter(description = "Filters for report", required = true)
+                                                                   @RequestBody ArtifactListRequestDto artifactListRequestDto,
+                                                                   @Parameter(description = "Supported codings: zstd, gzip")
+                                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String contentEncoding = PayloadCompression.negotiate(acceptEncoding);
+        StreamingResponseBody reportContent = outputStream ->
+                artifactService.writeArtifactsReport(artifactListRequestDto, outputStream, contentEncoding);
 
         HttpHeaders headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (contentEncoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
         headers.setContentDisposition(ContentDisposition.attachment().filename("artifacts-report.csv").build());
         headers.setContentType(new MediaType("text", "csv"));
 
         return new ResponseEntity<>(reportContent, headers, HttpStatus.OK);
     }
+
+    private static ResponseEntity<ArtifactDetailsDto> withEtag(ArtifactResponseCache.TaggedArtifact tagged) {
+        return ResponseEntity.ok().eTag(tagged.etag()).body(tagged.artifact());
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) return true;
+        }
+        return false;
+    }
 }
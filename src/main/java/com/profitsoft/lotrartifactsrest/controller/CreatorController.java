@@ -1,10 +1,12 @@
 package com.profitsoft.lotrartifactsrest.controller;
 
+import com.profitsoft.lotrartifactsrest.dto.CreatorCacheStatsDto;
 import com.profitsoft.lotrartifactsrest.dto.CreatorDetailsDto;
 import com.profitsoft.lotrartifactsrest.dto.CreatorSaveDto;
 import com.profitsoft.lotrartifactsrest.service.CreatorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,9 +14,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -25,14 +30,42 @@ import java.util.List;
 public class CreatorController {
     public final CreatorService creatorService;
 
-    @Operation(summary = "Get all creator details", description = "Retrieves all creators details")
+    @Operation(summary = "Get creator details", description = "Retrieves creators ordered by id, all of them unless size is given; "
+            + "a Link header with rel=\"next\" points to the following page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Creators found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CreatorDetailsDto.class))),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CreatorDetailsDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid page size",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProblemDetail.class)))
     })
     @GetMapping()
-    public List<CreatorDetailsDto> getCreators() {
-        return creatorService.getAllCreators();
+    public ResponseEntity<List<CreatorDetailsDto>> getCreators(@Parameter(description = "Return only creators with a greater id, "
+                                                                       + "taken from the previous page")
+                                                               @RequestParam(required = false) Long afterId,
+                                                               @Parameter(description = "Page size, at most 1000")
+                                                               @RequestParam(required = false) Integer size,
+                                                               @Parameter(description = "Include artifact count, power and year aggregates")
+                                                               @RequestParam(defaultValue = "false") boolean withStats) {
+        CreatorService.CreatorPage page = creatorService.getCreators(afterId, size, withStats);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextAfterId() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("afterId", page.nextAfterId())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.creators());
+    }
+
+    @Operation(summary = "Get creator cache statistics", description = "Retrieves hit, miss and eviction counters of the creator cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CreatorCacheStatsDto.class))),
+    })
+    @GetMapping("/_cache-stats")
+    public CreatorCacheStatsDto getCacheStats() {
+        return creatorService.getCacheStats();
     }
 
     @Operation(summary = "Save creator entity", description = "Saves creator entity to the database")
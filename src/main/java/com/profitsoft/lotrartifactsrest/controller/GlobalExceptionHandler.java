@@ -3,6 +3,8 @@ package com.profitsoft.lotrartifactsrest.controller;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.profitsoft.lotrartifactsrest.exception.ConflictException;
 import com.profitsoft.lotrartifactsrest.exception.NotFoundException;
+import com.profitsoft.lotrartifactsrest.exception.PreconditionFailedException;
+import com.profitsoft.lotrartifactsrest.exception.TooManyRequestsException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +35,18 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException e) {
+        log.warn("PreconditionFailedException thrown: {}", e.getMessage());
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    protected ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException e) {
+        log.warn("TooManyRequestsException thrown: {}", e.getMessage());
+        return buildResponse(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
+
     private static ResponseEntity<Object> buildResponse(HttpStatus httpStatus, String message) {
         ErrorResponse response = new ErrorResponse(httpStatus.value(), httpStatus.getReasonPhrase(), message);
         return ResponseEntity.status(httpStatus.value()).body(response);
@@ -0,0 +1,94 @@
+package com.profitsoft.lotrartifactsrest.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Decides which reads must go to the primary because a replica may not have caught up with a recent write.
+ * Once a request writes, its remaining reads use the primary; with {@code read-your-writes} enabled, so do the
+ * requests of the same client for {@code max-lag}. Shared caches are filled from the primary for {@code max-lag}
+ * after any write, so a stale replica row is never cached for everyone. Write times are local to this instance.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final long NO_WRITES = Long.MIN_VALUE;
+
+    private final boolean stickyClients;
+    private final long maxLagNanos;
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<RequestState> request = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> fillingCache = ThreadLocal.withInitial(() -> false);
+    private volatile long lastWriteNanos = NO_WRITES;
+
+    public ReadYourWrites(@Value("${datasource.replicas.read-your-writes:true}") boolean stickyClients,
+                          @Value("${datasource.replicas.max-lag:5s}") Duration maxLag,
+                          @Value("${datasource.replicas.max-tracked-clients:100000}") long maxTrackedClients) {
+        this.stickyClients = stickyClients;
+        this.maxLagNanos = maxLag.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    public void beginRequest(String clientKey) {
+        boolean pinned = stickyClients && clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+        request.set(new RequestState(clientKey, pinned));
+    }
+
+    public void endRequest() {
+        request.remove();
+    }
+
+    /**
+     * Must be called after every committed write that later reads are expected to observe; services do so through
+     * {@code WriteTracker}.
+     */
+    public void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+        RequestState state = request.get();
+        if (state == null) return;
+
+        state.pinned = true;
+        if (stickyClients && state.clientKey != null) {
+            recentWriters.put(state.clientKey, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        RequestState state = request.get();
+        return fillingCache.get() || (state != null && state.pinned);
+    }
+
+    /**
+     * Runs a loader that fills a cache shared by all clients, on the primary when any write happened within {@code max-lag}.
+     */
+    public <T> T readForCache(Supplier<T> loader) {
+        long lastWrite = lastWriteNanos;
+        if (lastWrite == NO_WRITES || System.nanoTime() - lastWrite >= maxLagNanos || fillingCache.get()) {
+            return loader.get();
+        }
+        fillingCache.set(true);
+        try {
+            return loader.get();
+        } finally {
+            fillingCache.set(false);
+        }
+    }
+
+    private static final class RequestState {
+        private final String clientKey;
+        private boolean pinned;
+
+        private RequestState(String clientKey, boolean pinned) {
+            this.clientKey = clientKey;
+            this.pinned = pinned;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.profitsoft.lotrartifactsrest.datasource;
+
+/**
+ * How {@link ReplicaDataSource} picks the replica for a new connection.
+ */
+public enum ReplicaBalancing {
+    /** Takes the replicas in turn. */
+    ROUND_ROBIN,
+    /** Takes the replica with the fewest connections in use, in turn among equals. */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,82 @@
+package com.profitsoft.lotrartifactsrest.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from the replica pools. A replica that cannot give a connection is skipped for the next one,
+ * and the primary serves the read when none can; reads pinned by {@link ReadYourWrites} go to the primary directly.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaBalancing balancing;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicas,
+                             ReplicaBalancing balancing, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isPinnedToPrimary()) {
+            return primary.getConnection();
+        }
+        for (HikariDataSource replica : candidates()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException ex) {
+                log.warn("Replica pool {} has no connection available, trying the next one: {}",
+                        replica.getPoolName(), ex.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private List<HikariDataSource> candidates() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        List<HikariDataSource> ordered = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ordered.add(replicas.get((start + i) % replicas.size()));
+        }
+        if (balancing == ReplicaBalancing.LEAST_CONNECTIONS) {
+            // Stable sort, so replicas with equal load keep their round-robin order
+            ordered.sort(Comparator.comparingInt(ReplicaDataSource::activeConnections));
+        }
+        return ordered;
+    }
+
+    private static int activeConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+}
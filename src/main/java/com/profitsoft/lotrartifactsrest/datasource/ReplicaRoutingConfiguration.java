@@ -0,0 +1,95 @@
+package com.profitsoft.lotrartifactsrest.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to the replicas listed in {@code datasource.replicas.urls}. The auto-configured
+ * {@code dataSource} stays the primary pool and is wrapped, so Liquibase, writes and COPY imports keep using it.
+ * Without replica URLs the data source is left untouched.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ReplicaRoutingConfiguration {
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    // Properties are read when the data source is created, so values registered by tests at startup are seen too.
+    // Ordered, so data source wrappers without an order, such as the test statement counter, wrap the routing as a whole
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment,
+                                                                   ObjectProvider<ReadYourWrites> readYourWrites,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RoutingPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!PRIMARY_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource primary)
+                        || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+                List<String> urls = Arrays.stream(environment.getProperty("datasource.replicas.urls", String[].class, new String[0]))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList();
+                if (urls.isEmpty()) {
+                    return bean;
+                }
+
+                List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+                for (int i = 0; i < urls.size(); i++) {
+                    replicas.add(replicaPool(environment, "replica-" + (i + 1), urls.get(i), meterRegistry.getIfAvailable()));
+                }
+                ReplicaBalancing balancing = environment.getProperty("datasource.replicas.balancing",
+                        ReplicaBalancing.class, ReplicaBalancing.ROUND_ROBIN);
+                log.info("Routing read-only transactions to {} replica(s), balanced {}", replicas.size(), balancing);
+
+                return new ReplicaRoutingDataSource(primary,
+                        new ReplicaDataSource(primary, replicas, balancing, readYourWrites.getObject()));
+            }
+        };
+    }
+
+    private abstract static class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static HikariDataSource replicaPool(Environment environment, String poolName, String url,
+                                                MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty("datasource.replicas.username",
+                environment.getProperty("spring.datasource.username")));
+        config.setPassword(environment.getProperty("datasource.replicas.password",
+                environment.getProperty("spring.datasource.password")));
+        config.setMaximumPoolSize(environment.getProperty("datasource.replicas.pool-size", Integer.class, 10));
+        config.setConnectionTimeout(environment.getProperty("datasource.replicas.connection-timeout",
+                Duration.class, Duration.ofSeconds(2)).toMillis());
+        config.setReadOnly(true);
+        // A replica that is down at startup must not stop the application; its reads fall back until it is back
+        config.setInitializationFailTimeout(-1);
+        if (meterRegistry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new HikariDataSource(config);
+    }
+}
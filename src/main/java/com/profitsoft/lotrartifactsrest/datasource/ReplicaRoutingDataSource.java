@@ -0,0 +1,30 @@
+package com.profitsoft.lotrartifactsrest.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sends the connections of read-only transactions to the replicas and all others to the primary. Connections are
+ * only fetched on the first statement, when the read-only flag of the transaction is already known.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final ReplicaDataSource replicaDataSource;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaDataSource replicaDataSource) {
+        super(primary);
+        setReadOnlyDataSource(replicaDataSource);
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicaDataSource.close();
+        if (getTargetDataSource() instanceof Closeable primary) {
+            primary.close();
+        }
+    }
+}
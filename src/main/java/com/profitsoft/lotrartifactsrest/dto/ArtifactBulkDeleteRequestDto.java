@@ -0,0 +1,19 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(name = "ArtifactBulkDeleteRequest")
+public class ArtifactBulkDeleteRequestDto {
+
+    @Schema(description = "Artifacts to delete, same filters as /_list")
+    @NotNull
+    @Valid
+    private ArtifactFilterDto filter;
+
+    @Schema(description = "Only count the matching artifacts without deleting them", example = "false")
+    private boolean dryRun;
+}
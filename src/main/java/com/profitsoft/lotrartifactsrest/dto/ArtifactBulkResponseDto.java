@@ -0,0 +1,21 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ArtifactBulkResponse", description = "Outcome of a bulk update or delete")
+public class ArtifactBulkResponseDto {
+
+    @Schema(description = "Artifacts changed, or for a dry run the artifacts that would be changed", example = "42")
+    private long affected;
+
+    @Schema(description = "Whether nothing was changed", example = "false")
+    private boolean dryRun;
+}
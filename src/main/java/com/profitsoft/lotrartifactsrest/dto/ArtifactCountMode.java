@@ -0,0 +1,25 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * How the total of an artifact list is computed.
+ */
+@Schema(description = "Artifact list total count mode")
+public enum ArtifactCountMode {
+
+    /**
+     * Runs a count query over the full filtered set.
+     */
+    EXACT,
+
+    /**
+     * Uses the PostgreSQL planner row estimate, cached per filter combination.
+     */
+    ESTIMATED,
+
+    /**
+     * Skips the total, only reports whether a next page exists.
+     */
+    NONE
+}
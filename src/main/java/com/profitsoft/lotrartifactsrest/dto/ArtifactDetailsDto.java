@@ -34,4 +34,7 @@ public class ArtifactDetailsDto {
 
     @Schema(description = "Creator details", implementation = CreatorDetailsDto.class)
     private CreatorDetailsDto creator;
+
+    @Schema(description = "Row version, incremented by every update; absent after an unconditional PUT", example = "3")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Artifact filters shared by list, report, search, stats and bulk requests.
+ */
+@Data
+@Schema(name = "ArtifactFilterDto")
+public class ArtifactFilterDto {
+
+    @Schema(description = "Filter by creator id", example = "2")
+    private Long creatorId;
+
+    @Schema(description = "Optional filter: origin", example = "Mordor")
+    private String origin;
+
+    @Schema(description = "Optional filter: artifacts having at least one of these tags (case-insensitive)", example = "[\"ring\", \"sword\"]")
+    @Size(max = 50)
+    private List<String> tagsAny;
+
+    @Schema(description = "Optional filter: artifacts having all of these tags (case-insensitive)", example = "[\"ring\", \"shadow\"]")
+    @Size(max = 50)
+    private List<String> tagsAll;
+
+    @Schema(description = "Min year created", example = "1000")
+    private Integer yearFrom;
+
+    @Schema(description = "Max year created", example = "3000")
+    private Integer yearTo;
+
+    @Schema(description = "Min power level", example = "100")
+    private Integer powerFrom;
+
+    @Schema(description = "Max power level", example = "5000")
+    private Integer powerTo;
+}
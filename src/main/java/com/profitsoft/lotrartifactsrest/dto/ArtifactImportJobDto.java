@@ -0,0 +1,54 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "State and progress of an asynchronous artifact import")
+public class ArtifactImportJobDto {
+    @Schema(description = "Job identifier", example = "3f1c0c1e-8d0f-4a55-9a57-0d8a3c7e2b41")
+    private String id;
+
+    @Schema(description = "Current job status", example = "RUNNING")
+    private ArtifactImportJobStatus status;
+
+    @Schema(description = "Import mode of the job", example = "BATCH")
+    private ArtifactImportMode mode;
+
+    @Schema(description = "Number of records read from the file so far", example = "120000")
+    private long parsed;
+
+    @Schema(description = "Number of artifacts committed so far; COPY imports commit everything at the end", example = "119500")
+    private long imported;
+
+    @Schema(description = "Number of records rejected so far", example = "12")
+    private long failed;
+
+    @Schema(description = "Records parsed per second since the job started", example = "24000.5")
+    private double rowsPerSecond;
+
+    @Schema(description = "When the job was accepted")
+    private Instant submittedAt;
+
+    @Schema(description = "When processing started")
+    private Instant startedAt;
+
+    @Schema(description = "When processing finished")
+    private Instant finishedAt;
+
+    @Schema(description = "Final import result, present once the job has completed")
+    private ArtifactImportResponseDto result;
+
+    @Schema(description = "Failure reason, present if the job failed")
+    private String error;
+}
@@ -0,0 +1,9 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+public enum ArtifactImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,20 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Ingest strategy for artifact uploads.
+ */
+@Schema(description = "Artifact import mode")
+public enum ArtifactImportMode {
+
+    /**
+     * Validated JPA inserts written in chunked JDBC batches.
+     */
+    BATCH,
+
+    /**
+     * PostgreSQL COPY into a staging table, then a single INSERT ... SELECT that drops rows with unknown creators.
+     */
+    COPY
+}
@@ -2,29 +2,16 @@ package com.profitsoft.lotrartifactsrest.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 @Schema(name = "ArtifactListRequest")
-public class ArtifactListRequestDto {
-
-    @Schema(description = "Filter by creator id", example = "2")
-    private Long creatorId;
-
-    @Schema(description = "Optional filter: origin", example = "Mordor")
-    private String origin;
-
-    @Schema(description = "Min year created", example = "1000")
-    private Integer yearFrom;
-
-    @Schema(description = "Max year created", example = "3000")
-    private Integer yearTo;
-
-    @Schema(description = "Min power level", example = "100")
-    private Integer powerFrom;
-
-    @Schema(description = "Max power level", example = "5000")
-    private Integer powerTo;
+public class ArtifactListRequestDto extends ArtifactFilterDto {
 
     @Schema(description = "Page (0-based)", example = "0")
     @Min(0)
@@ -33,4 +20,11 @@ public class ArtifactListRequestDto {
     @Schema(description = "Size", example = "20")
     @Min(1)
     private Integer size = 20;
+
+    @Schema(description = "How the total is computed: EXACT count, planner ESTIMATED count, or NONE", example = "EXACT")
+    @NotNull
+    private ArtifactCountMode countMode = ArtifactCountMode.EXACT;
+
+    @Schema(description = "Continuation token from the previous response; when set, page is ignored and the next artifacts are read by seeking past it")
+    private String cursor;
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import java.util.List;
  * DTO for artifact list response.
  */
 @Data
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(name = "ArtifactListResponseDto", description = "Artifact list response data transfer object")
@@ -17,6 +18,15 @@ public class ArtifactListResponseDto {
     @Schema(description = "Artifacts for requested page")
     private List<ArtifactDetailsDto> list;
 
-    @Schema(description = "Total pages", example = "5")
-    private int totalPages;
+    @Schema(description = "Total pages, absent when the count was skipped", example = "5")
+    private Integer totalPages;
+
+    @Schema(description = "Whether totalPages is derived from a planner estimate", example = "false")
+    private boolean totalEstimated;
+
+    @Schema(description = "Whether more artifacts follow this page", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Continuation token for the next artifacts, absent on the last page", example = "MTI4")
+    private String nextCursor;
 }
\ No newline at end of file
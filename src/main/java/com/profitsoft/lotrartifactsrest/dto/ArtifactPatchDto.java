@@ -0,0 +1,41 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * DTO for partial artifact updates; absent fields are left unchanged.
+ */
+@Data
+@Schema(name = "ArtifactPatch")
+public class ArtifactPatchDto {
+
+    @Schema(description = "New name, unchanged when absent", example = "One Ring")
+    @Size(max = 255, message = "Name must be at most 255 characters long")
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    private String name;
+
+    @Schema(description = "New creator id, unchanged when absent", example = "2")
+    private Long creatorId;
+
+    @Schema(description = "New origin, unchanged when absent", example = "Mordor")
+    @Size(max = 255, message = "Origin must be at most 255 characters long")
+    private String origin;
+
+    @Schema(description = "New tags, unchanged when absent", example = "ring,shadow")
+    @Size(max = 500, message = "Tags must be at most 500 characters long")
+    private String tags;
+
+    @Schema(description = "New year created, unchanged when absent", example = "1600")
+    @Min(value = 0, message = "Year created must be greater or equal to 0")
+    private Integer yearCreated;
+
+    @Schema(description = "New power level, unchanged when absent", example = "9000")
+    @Min(value = 0, message = "Power level must be greater or equal to 0")
+    @Max(value = 10_000, message = "Power level must be less or equal to 10000")
+    private Integer powerLevel;
+}
@@ -0,0 +1,32 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Schema(name = "ArtifactSearchRequest")
+public class ArtifactSearchRequestDto extends ArtifactFilterDto {
+
+    @Schema(description = "Search terms matched against name, origin and tags; supports \"quoted phrases\", OR and -exclusions",
+            example = "ring -elven")
+    @NotBlank
+    @Size(max = 200)
+    private String query;
+
+    @Schema(description = "Page (0-based)", example = "0")
+    @Min(0)
+    private Integer page = 0;
+
+    @Schema(description = "Size", example = "20")
+    @Min(1)
+    @Max(100)
+    private Integer size = 20;
+}
@@ -0,0 +1,42 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ArtifactStatsBucket", description = "Aggregates of one group; only the fields of the requested grouping are set")
+public class ArtifactStatsBucketDto {
+
+    @Schema(description = "Creator id, for CREATOR grouping", example = "2")
+    private Long creatorId;
+
+    @Schema(description = "Creator name, for CREATOR grouping", example = "Sauron")
+    private String creatorName;
+
+    @Schema(description = "Origin, for ORIGIN grouping", example = "Mordor")
+    private String origin;
+
+    @Schema(description = "First year of the bucket, for YEAR grouping; absent for artifacts without a year", example = "1600")
+    private Integer yearFrom;
+
+    @Schema(description = "Last year of the bucket, for YEAR grouping", example = "1699")
+    private Integer yearTo;
+
+    @Schema(description = "Number of artifacts", example = "42")
+    private long count;
+
+    @Schema(description = "Min power level", example = "100")
+    private Integer minPowerLevel;
+
+    @Schema(description = "Max power level", example = "9000")
+    private Integer maxPowerLevel;
+
+    @Schema(description = "Average power level", example = "4250.5")
+    private Double avgPowerLevel;
+}
@@ -0,0 +1,7 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+public enum ArtifactStatsGroupBy {
+    CREATOR,
+    ORIGIN,
+    YEAR
+}
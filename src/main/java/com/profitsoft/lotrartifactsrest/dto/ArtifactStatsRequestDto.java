@@ -0,0 +1,25 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(name = "ArtifactStatsRequest")
+public class ArtifactStatsRequestDto {
+
+    @Schema(description = "Grouping of the aggregates: by CREATOR, ORIGIN or YEAR bucket", example = "CREATOR")
+    @NotNull
+    private ArtifactStatsGroupBy groupBy;
+
+    @Schema(description = "Width of a YEAR bucket in years", example = "100")
+    @Min(1)
+    private Integer yearBucketSize = 100;
+
+    @Schema(description = "Artifacts to aggregate, same filters as /_list; all artifacts when absent")
+    @NotNull
+    @Valid
+    private ArtifactFilterDto filter = new ArtifactFilterDto();
+}
@@ -0,0 +1,30 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ArtifactStatsResponse", description = "Artifact aggregates grouped by the requested dimension")
+public class ArtifactStatsResponseDto {
+
+    @Schema(description = "Requested grouping", example = "CREATOR")
+    private ArtifactStatsGroupBy groupBy;
+
+    @Schema(description = "Aggregates per group")
+    private List<ArtifactStatsBucketDto> buckets;
+
+    @Schema(description = "Whether the aggregates come from the periodically refreshed summary rather than the live table", example = "false")
+    private boolean fromSummary;
+
+    @Schema(description = "When the summary was last refreshed by this instance, set only for summary answers")
+    private Instant summaryRefreshedAt;
+}
@@ -0,0 +1,31 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * DTO for creator cache statistics.
+ */
+@Getter
+@Builder
+@Jacksonized
+@Schema(description = "Creator cache statistics data transfer object")
+public class CreatorCacheStatsDto {
+
+    @Schema(description = "Number of cached creators", example = "4")
+    private long size;
+
+    @Schema(description = "Lookups served from the cache", example = "120")
+    private long hitCount;
+
+    @Schema(description = "Lookups that went to the database", example = "4")
+    private long missCount;
+
+    @Schema(description = "Share of lookups served from the cache", example = "0.97")
+    private double hitRate;
+
+    @Schema(description = "Entries evicted by size or expiry", example = "0")
+    private long evictionCount;
+}
@@ -1,6 +1,6 @@
 package com.profitsoft.lotrartifactsrest.dto;
 
-
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,4 +22,8 @@ public class CreatorDetailsDto {
     private String race;
 
     private String realm;
+
+    @Schema(description = "Artifact aggregates, only when requested with withStats")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CreatorStatsDto stats;
 }
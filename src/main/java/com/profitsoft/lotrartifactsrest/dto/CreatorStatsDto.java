@@ -0,0 +1,31 @@
+package com.profitsoft.lotrartifactsrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * DTO for artifact aggregates of one creator.
+ */
+@Getter
+@Builder
+@Jacksonized
+@Schema(description = "Artifact aggregates of a creator; power and year fields are absent when no artifact has them")
+public class CreatorStatsDto {
+
+    @Schema(description = "Number of artifacts", example = "19")
+    private long artifactCount;
+
+    @Schema(description = "Max power level", example = "9000")
+    private Integer maxPowerLevel;
+
+    @Schema(description = "Average power level", example = "6120.5")
+    private Double avgPowerLevel;
+
+    @Schema(description = "Year the earliest artifact was created", example = "1500")
+    private Integer minYearCreated;
+
+    @Schema(description = "Year the latest artifact was created", example = "1600")
+    private Integer maxYearCreated;
+}
@@ -3,6 +3,8 @@ package com.profitsoft.lotrartifactsrest.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "artifact")
@@ -12,7 +14,8 @@ import lombok.*;
 public class Artifact {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artifact_id_seq")
+    @SequenceGenerator(name = "artifact_id_seq", sequenceName = "artifact_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -31,10 +34,19 @@ public class Artifact {
     @Size(max = 500)
     private String tags;
 
+    // Generated by the database from tags, lower-cased and split on commas
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tag_list", insertable = false, updatable = false)
+    private String[] tagList;
+
     @Min(0)
     private Integer yearCreated;
 
     @Min(0)
     @Max(10_000)
     private Integer powerLevel;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -18,7 +18,8 @@ public class Creator {
 
     @NotBlank
     @Size(max = 255)
-    @Column(nullable = false, unique = true)
+    // Unique case-insensitively through the uk_creator_name_lower index on lower(name)
+    @Column(nullable = false)
     private String name;
 
     @Size(max = 255)
@@ -1,9 +1,27 @@
 package com.profitsoft.lotrartifactsrest.repository;
 
 import com.profitsoft.lotrartifactsrest.model.Artifact;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface ArtifactRepository extends JpaRepository<Artifact, Long>,
-        JpaSpecificationExecutor<Artifact> {
+        JpaSpecificationExecutor<Artifact>, ArtifactRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "creator")
+    Page<Artifact> findAll(Specification<Artifact> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "creator")
+    List<Artifact> findAllByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "creator")
+    Optional<Artifact> findWithCreatorById(Long id);
 }
@@ -0,0 +1,25 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArtifactRepositoryCustom {
+
+    /**
+     * Streams artifacts matching the specification through a forward-only cursor,
+     * fetching each creator in the same statement.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<Artifact> streamAll(Specification<Artifact> spec, int fetchSize);
+
+    void detach(Artifact artifact);
+
+    /**
+     * Persists new artifacts with a single flush so Hibernate sends them as one JDBC batch,
+     * then clears the persistence context. Must be called inside a transaction.
+     */
+    void persistAll(List<Artifact> artifacts);
+}
@@ -0,0 +1,54 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ArtifactRepositoryCustomImpl implements ArtifactRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Artifact> streamAll(Specification<Artifact> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Artifact> query = cb.createQuery(Artifact.class);
+        Root<Artifact> root = query.from(Artifact.class);
+        root.fetch("creator", JoinType.INNER);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    @Override
+    public void detach(Artifact artifact) {
+        entityManager.detach(artifact);
+    }
+
+    @Override
+    public void persistAll(List<Artifact> artifacts) {
+        for (Artifact artifact : artifacts) {
+            entityManager.persist(artifact);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the generated {@code search_vector} column. Matches are found through its GIN index
+ * and ranked with {@code ts_rank}, so name hits (weight A) come before origin (B) and tag (C) hits.
+ */
+@Repository
+public class ArtifactSearchRepository {
+
+    private static final String SEARCH_SQL = """
+            SELECT a.id
+            FROM artifact a, websearch_to_tsquery('english', ?) q
+            WHERE a.search_vector @@ q%s
+            ORDER BY ts_rank(a.search_vector, q) DESC, a.id
+            LIMIT ? OFFSET ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArtifactSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns ids of up to {@code limit} artifacts matching {@code query} and {@code filter}, best match first.
+     */
+    public List<Long> searchIds(String query, ArtifactSqlFilter filter, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(query);
+        args.addAll(List.of(filter.args()));
+        args.add(limit);
+        args.add(offset);
+
+        return jdbcTemplate.queryForList(SEARCH_SQL.formatted(filter.sql(" AND ")), Long.class, args.toArray());
+    }
+}
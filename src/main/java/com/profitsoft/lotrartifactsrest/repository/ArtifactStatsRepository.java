@@ -0,0 +1,93 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsBucketDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsGroupBy;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Grouped power level aggregates, computed with one GROUP BY either over {@code artifact} or over the
+ * {@code artifact_stats_summary} materialized view. The summary keeps per creator, per origin and per year
+ * partial aggregates, so any year bucket width can be rolled up from it.
+ */
+@Repository
+public class ArtifactStatsRepository {
+
+    private static final String LIVE_SQL = """
+            SELECT %s AS group_key, count(*) AS artifact_count,
+                   min(a.power_level) AS power_min, max(a.power_level) AS power_max, avg(a.power_level)::float8 AS power_avg
+            FROM artifact a%s
+            GROUP BY 1""";
+
+    private static final String SUMMARY_SQL = """
+            SELECT %s AS group_key, sum(s.artifact_count)::bigint AS artifact_count,
+                   min(s.power_min) AS power_min, max(s.power_max) AS power_max,
+                   sum(s.power_sum)::float8 / nullif(sum(s.power_count), 0) AS power_avg
+            FROM artifact_stats_summary s
+            WHERE s.dimension = ?
+            GROUP BY 1""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArtifactStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ArtifactStatsBucketDto> aggregate(ArtifactStatsGroupBy groupBy, int yearBucketSize, ArtifactSqlFilter filter) {
+        String grouped = LIVE_SQL.formatted(groupKey("a", groupBy, yearBucketSize), filter.sql(" WHERE "));
+        return jdbcTemplate.query(withLabels(grouped, groupBy), bucketMapper(groupBy, yearBucketSize), filter.args());
+    }
+
+    public List<ArtifactStatsBucketDto> aggregateSummary(ArtifactStatsGroupBy groupBy, int yearBucketSize) {
+        String grouped = SUMMARY_SQL.formatted(groupKey("s", groupBy, yearBucketSize));
+        return jdbcTemplate.query(withLabels(grouped, groupBy), bucketMapper(groupBy, yearBucketSize), groupBy.name());
+    }
+
+    /**
+     * Recomputes the summary without blocking readers, who keep seeing the previous contents until it completes.
+     */
+    public void refreshSummary() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY artifact_stats_summary");
+    }
+
+    // Bucket widths are validated integers, so they are inlined to keep the grouping expression identical in SELECT and GROUP BY
+    private static String groupKey(String alias, ArtifactStatsGroupBy groupBy, int yearBucketSize) {
+        return switch (groupBy) {
+            case CREATOR -> alias + ".creator_id";
+            case ORIGIN -> alias + ".origin";
+            case YEAR -> "floor(%s.year_created / %d::numeric)::int * %d".formatted(alias, yearBucketSize, yearBucketSize);
+        };
+    }
+
+    private static String withLabels(String grouped, ArtifactStatsGroupBy groupBy) {
+        return groupBy == ArtifactStatsGroupBy.CREATOR
+                ? "SELECT g.*, c.name AS creator_name FROM (" + grouped + ") g JOIN creator c ON c.id = g.group_key ORDER BY g.group_key"
+                : "SELECT g.*, NULL AS creator_name FROM (" + grouped + ") g ORDER BY g.group_key NULLS LAST";
+    }
+
+    private static RowMapper<ArtifactStatsBucketDto> bucketMapper(ArtifactStatsGroupBy groupBy, int yearBucketSize) {
+        return (rs, rowNum) -> {
+            ArtifactStatsBucketDto.ArtifactStatsBucketDtoBuilder bucket = ArtifactStatsBucketDto.builder()
+                    .count(rs.getLong("artifact_count"))
+                    .minPowerLevel(rs.getObject("power_min", Integer.class))
+                    .maxPowerLevel(rs.getObject("power_max", Integer.class))
+                    .avgPowerLevel(rs.getObject("power_avg", Double.class));
+            switch (groupBy) {
+                case CREATOR -> bucket
+                        .creatorId(rs.getLong("group_key"))
+                        .creatorName(rs.getString("creator_name"));
+                case ORIGIN -> bucket.origin(rs.getString("group_key"));
+                case YEAR -> {
+                    Integer yearFrom = rs.getObject("group_key", Integer.class);
+                    bucket.yearFrom(yearFrom)
+                            .yearTo(yearFrom == null ? null : yearFrom + yearBucketSize - 1);
+                }
+            }
+            return bucket.build();
+        };
+    }
+}
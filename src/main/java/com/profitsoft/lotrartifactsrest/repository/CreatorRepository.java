@@ -1,11 +1,40 @@
 package com.profitsoft.lotrartifactsrest.repository;
 
 import com.profitsoft.lotrartifactsrest.model.Creator;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface CreatorRepository extends JpaRepository<Creator, Long> {
 
-    boolean existsByNameIgnoreCase(String name);
+    /**
+     * Unique index on {@code lower(name)} that keeps creator names unique regardless of case.
+     */
+    String NAME_UNIQUE_INDEX = "uk_creator_name_lower";
+
+    List<Creator> findByIdGreaterThanOrderById(Long afterId, Limit limit);
+
+    /**
+     * Overwrites every field of a creator in one UPDATE, without loading it first.
+     *
+     * @return number of updated rows, 0 when the creator does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("update Creator c set c.name = :name, c.race = :race, c.realm = :realm where c.id = :id")
+    int updateById(Long id, String name, String race, String realm);
 
-    boolean existsByNameIgnoreCaseAndIdIsNot(String name, Long id);
-}
\ No newline at end of file
+    /**
+     * Deletes a creator in one DELETE, without loading it first.
+     *
+     * @return number of deleted rows, 0 when the creator does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Creator c where c.id = :id")
+    int removeById(Long id);
+}
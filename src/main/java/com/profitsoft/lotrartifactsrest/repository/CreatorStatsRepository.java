@@ -0,0 +1,58 @@
+package com.profitsoft.lotrartifactsrest.repository;
+
+import com.profitsoft.lotrartifactsrest.dto.CreatorDetailsDto;
+import com.profitsoft.lotrartifactsrest.dto.CreatorStatsDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Creators together with their artifact aggregates, computed for a whole page in one grouped LEFT JOIN.
+ * The page of creators is cut first, so only the artifacts of those creators are aggregated.
+ */
+@Repository
+public class CreatorStatsRepository {
+
+    // The join probes idx_artifact_creator_id for each creator of the page
+    private static final String PAGE_SQL = """
+            SELECT c.id, c.name, c.race, c.realm,
+                   count(a.creator_id) AS artifact_count, max(a.power_level) AS power_max,
+                   avg(a.power_level)::float8 AS power_avg,
+                   min(a.year_created) AS year_min, max(a.year_created) AS year_max
+            FROM (SELECT id, name, race, realm FROM creator WHERE id > ? ORDER BY id%s) c
+            LEFT JOIN artifact a ON a.creator_id = c.id
+            GROUP BY c.id, c.name, c.race, c.realm
+            ORDER BY c.id""";
+
+    private static final RowMapper<CreatorDetailsDto> CREATOR_MAPPER = (rs, rowNum) -> CreatorDetailsDto.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .race(rs.getString("race"))
+            .realm(rs.getString("realm"))
+            .stats(CreatorStatsDto.builder()
+                    .artifactCount(rs.getLong("artifact_count"))
+                    .maxPowerLevel(rs.getObject("power_max", Integer.class))
+                    .avgPowerLevel(rs.getObject("power_avg", Double.class))
+                    .minYearCreated(rs.getObject("year_min", Integer.class))
+                    .maxYearCreated(rs.getObject("year_max", Integer.class))
+                    .build())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreatorStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads up to {@code limit} creators with an id greater than {@code afterId}, ordered by id;
+     * a {@code null} limit reads all of them.
+     */
+    public List<CreatorDetailsDto> findWithStats(long afterId, Integer limit) {
+        // The limit is a validated integer, so it is inlined
+        String sql = PAGE_SQL.formatted(limit == null ? "" : " LIMIT " + limit);
+        return jdbcTemplate.query(sql, CREATOR_MAPPER, afterId);
+    }
+}
@@ -1,24 +1,49 @@
 package com.profitsoft.lotrartifactsrest.repository.spec;
 
 import com.profitsoft.lotrartifactsrest.model.Artifact;
-import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.PredicateSpecification;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Artifact filter predicates. They only need a {@code From} and a criteria builder, so the same predicates
+ * restrict queries as well as bulk updates and deletes.
+ */
 public class ArtifactSpecification {
 
-    public static Specification<Artifact> hasCreator(Long creatorId) {
-        return (root, query, cb) ->
+    public static PredicateSpecification<Artifact> hasCreator(Long creatorId) {
+        return (root, cb) ->
                 creatorId == null ? null :
                         cb.equal(root.get("creator").get("id"), creatorId);
     }
 
-    public static Specification<Artifact> hasOrigin(String origin) {
-        return (root, query, cb) ->
+    public static PredicateSpecification<Artifact> hasOrigin(String origin) {
+        return (root, cb) ->
                 origin == null ? null :
-                        cb.equal(cb.lower(root.get("origin")), origin.toLowerCase());
+                        cb.equal(cb.lower(root.get("origin")), origin.toLowerCase(Locale.ROOT));
     }
 
-    public static Specification<Artifact> yearBetween(Integer from, Integer to) {
-        return (root, query, cb) -> {
+    public static PredicateSpecification<Artifact> hasAnyTag(List<String> tags) {
+        return (root, cb) -> {
+            String[] normalized = normalizeTags(tags);
+            return normalized.length == 0 ? null :
+                    ((HibernateCriteriaBuilder) cb).arrayIntersects(root.get("tagList"), normalized);
+        };
+    }
+
+    public static PredicateSpecification<Artifact> hasAllTags(List<String> tags) {
+        return (root, cb) -> {
+            String[] normalized = normalizeTags(tags);
+            return normalized.length == 0 ? null :
+                    ((HibernateCriteriaBuilder) cb).arrayIncludes(root.get("tagList"), normalized);
+        };
+    }
+
+    public static PredicateSpecification<Artifact> yearBetween(Integer from, Integer to) {
+        return (root, cb) -> {
             if (from == null && to == null) return null;
             if (from != null && to != null)
                 return cb.between(root.get("yearCreated"), from, to);
@@ -28,8 +53,8 @@ public class ArtifactSpecification {
         };
     }
 
-    public static Specification<Artifact> powerBetween(Integer from, Integer to) {
-        return (root, query, cb) -> {
+    public static PredicateSpecification<Artifact> powerBetween(Integer from, Integer to) {
+        return (root, cb) -> {
             if (from == null && to == null) return null;
             if (from != null && to != null)
                 return cb.between(root.get("powerLevel"), from, to);
@@ -38,4 +63,15 @@ public class ArtifactSpecification {
             return cb.lessThanOrEqualTo(root.get("powerLevel"), to);
         };
     }
+
+    // Matches the lower-cased, trimmed tags of the generated tag_list column
+    public static String[] normalizeTags(List<String> tags) {
+        if (tags == null) return new String[0];
+        return tags.stream()
+                .filter(Objects::nonNull)
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
 }
\ No newline at end of file
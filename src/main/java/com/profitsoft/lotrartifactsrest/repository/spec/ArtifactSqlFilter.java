@@ -0,0 +1,69 @@
+package com.profitsoft.lotrartifactsrest.repository.spec;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactFilterDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQL form of the {@link ArtifactSpecification} filters for native queries against {@code artifact a}.
+ * Values are normalized the same way, so equal filters produce equal instances.
+ */
+public record ArtifactSqlFilter(List<String> conditions, List<Object> values) {
+
+    public static ArtifactSqlFilter of(ArtifactFilterDto filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+
+        if (filter.getCreatorId() != null) {
+            conditions.add("a.creator_id = ?");
+            values.add(filter.getCreatorId());
+        }
+        if (filter.getOrigin() != null) {
+            conditions.add("lower(a.origin) = ?");
+            values.add(filter.getOrigin().toLowerCase(Locale.ROOT));
+        }
+        List<String> tagsAny = List.of(ArtifactSpecification.normalizeTags(filter.getTagsAny()));
+        if (!tagsAny.isEmpty()) {
+            conditions.add("a.tag_list && ?::text[]");
+            values.add(tagsAny);
+        }
+        List<String> tagsAll = List.of(ArtifactSpecification.normalizeTags(filter.getTagsAll()));
+        if (!tagsAll.isEmpty()) {
+            conditions.add("a.tag_list @> ?::text[]");
+            values.add(tagsAll);
+        }
+        addRange(conditions, values, "a.year_created", filter.getYearFrom(), filter.getYearTo());
+        addRange(conditions, values, "a.power_level", filter.getPowerFrom(), filter.getPowerTo());
+
+        return new ArtifactSqlFilter(List.copyOf(conditions), List.copyOf(values));
+    }
+
+    /**
+     * The conditions joined with {@code AND} and prefixed with {@code prefix}, or an empty string without conditions.
+     */
+    public String sql(String prefix) {
+        return conditions.isEmpty() ? "" : prefix + String.join(" AND ", conditions);
+    }
+
+    /**
+     * JDBC arguments for {@link #sql(String)}, with tag lists bound as arrays.
+     */
+    public Object[] args() {
+        return values.stream()
+                .map(value -> value instanceof List<?> list ? list.toArray(String[]::new) : value)
+                .toArray();
+    }
+
+    private static void addRange(List<String> conditions, List<Object> values, String column, Integer from, Integer to) {
+        if (from != null) {
+            conditions.add(column + " >= ?");
+            values.add(from);
+        }
+        if (to != null) {
+            conditions.add(column + " <= ?");
+            values.add(to);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import com.profitsoft.lotrartifactsrest.repository.ArtifactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Buffers imported artifacts into fixed-size chunks and hands them to the writer pool, where
+ * each chunk is persisted in its own transaction and JDBC batch. The parsing thread blocks once
+ * {@code maxPendingChunks} chunks are waiting, so a slow database throttles parsing instead of
+ * filling the heap. A chunk the database rejects is retried row by row to keep the failed count exact.
+ */
+@Slf4j
+class ArtifactChunkWriter {
+
+    private final ArtifactRepository artifactRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final Semaphore pendingChunks;
+    private final ArtifactImportProgress progress;
+    private List<Artifact> buffer;
+
+    ArtifactChunkWriter(ArtifactRepository artifactRepository, TransactionTemplate transactionTemplate,
+                        ArtifactImportWriterPool writerPool, int chunkSize, ArtifactImportProgress progress) {
+        this.artifactRepository = artifactRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = writerPool.executor();
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = writerPool.maxPendingChunks();
+        this.pendingChunks = new Semaphore(maxPendingChunks);
+        this.progress = progress;
+        this.buffer = new ArrayList<>(chunkSize);
+    }
+
+    void add(Artifact artifact) {
+        buffer.add(artifact);
+        if (buffer.size() >= chunkSize) {
+            submit();
+        }
+    }
+
+    /**
+     * Submits the last partial chunk and waits until every submitted chunk has been written.
+     */
+    void flush() {
+        submit();
+        acquire(maxPendingChunks);
+        pendingChunks.release(maxPendingChunks);
+    }
+
+    private void submit() {
+        if (buffer.isEmpty()) return;
+
+        List<Artifact> chunk = buffer;
+        buffer = new ArrayList<>(chunkSize);
+
+        acquire(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    write(chunk);
+                } finally {
+                    pendingChunks.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            pendingChunks.release();
+            throw ex;
+        }
+    }
+
+    private void write(List<Artifact> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> artifactRepository.persistAll(chunk));
+            progress.recordImported(chunk.size());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to import chunk of {} artifacts, retrying row by row: {}", chunk.size(), ex.getMessage());
+            writeRowByRow(chunk);
+        }
+    }
+
+    private void writeRowByRow(List<Artifact> chunk) {
+        for (Artifact artifact : chunk) {
+            // Ids assigned during the rolled back chunk must not survive into the retry
+            artifact.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> artifactRepository.persistAll(List.of(artifact)));
+                progress.recordImported(1);
+            } catch (RuntimeException ex) {
+                progress.recordFailed(1);
+            }
+        }
+    }
+
+    private void acquire(int permits) {
+        try {
+            pendingChunks.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import interrupted while waiting for writers");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Streams artifacts into a temporary staging table through PostgreSQL COPY and moves
+ * the rows whose creator exists into {@code artifact} with one INSERT ... SELECT.
+ * Ids are allocated in blocks shared with the Hibernate sequence generator, one {@code nextval} per 50 rows.
+ */
+class ArtifactCopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE artifact_staging (
+                name TEXT,
+                creator_id BIGINT,
+                origin TEXT,
+                tags TEXT,
+                year_created INT,
+                power_level INT
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_SQL = """
+            COPY artifact_staging (name, creator_id, origin, tags, year_created, power_level)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    // Matches the allocationSize of Artifact.id and the increment of artifact_id_seq
+    private static final int ID_BLOCK_SIZE = 50;
+
+    // A sequence that was never called first returns its start value, which is not the top of a block
+    private static final String PRIME_SEQUENCE_SQL = """
+            SELECT CASE WHEN is_called THEN last_value ELSE nextval('artifact_id_seq') END FROM artifact_id_seq""";
+
+    /*
+     * Ids are taken the way Hibernate's pooled optimizer takes them: every nextval returns the top of a block of
+     * ID_BLOCK_SIZE ids, so one call is made per block of rows instead of one per row.
+     */
+    private static final String INSERT_SQL = """
+            WITH valid AS MATERIALIZED (
+                SELECT s.*, row_number() OVER () - 1 AS n
+                FROM artifact_staging s
+                JOIN creator c ON c.id = s.creator_id
+            ), blocks AS MATERIALIZED (
+                SELECT b, nextval('artifact_id_seq') AS hi
+                FROM generate_series(0, (SELECT (count(*) + %1$d - 1) / %1$d FROM valid) - 1) b
+            )
+            INSERT INTO artifact (id, name, creator_id, origin, tags, year_created, power_level)
+            SELECT blocks.hi - %1$d + 1 + v.n %% %1$d, v.name, v.creator_id, v.origin, v.tags, v.year_created, v.power_level
+            FROM valid v
+            JOIN blocks ON blocks.b = v.n / %1$d""".formatted(ID_BLOCK_SIZE);
+
+    private final Connection connection;
+    private final PGCopyOutputStream copyStream;
+    private final Writer writer;
+    private boolean committed;
+
+    ArtifactCopyWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_SQL);
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        this.copyStream = new PGCopyOutputStream(copyIn, BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    void add(ArtifactSaveDto dto) {
+        try {
+            writeText(dto.getName());
+            writer.write(',');
+            writeNumber(dto.getCreatorId());
+            writer.write(',');
+            writeText(dto.getOrigin());
+            writer.write(',');
+            writeText(dto.getTags());
+            writer.write(',');
+            writeNumber(dto.getYearCreated());
+            writer.write(',');
+            writeNumber(dto.getPowerLevel());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream artifact into COPY", e);
+        }
+    }
+
+    /**
+     * Completes the COPY, moves valid rows into {@code artifact} and commits.
+     *
+     * @return number of staged rows rejected because their creator does not exist
+     */
+    long finish() throws IOException, SQLException {
+        writer.flush();
+        long staged = copyStream.endCopy();
+
+        long inserted;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(PRIME_SEQUENCE_SQL);
+            inserted = statement.executeUpdate(INSERT_SQL);
+        }
+        connection.commit();
+        committed = true;
+
+        return staged - inserted;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (committed) return;
+
+        if (copyStream.isActive()) {
+            copyStream.cancelCopy();
+        }
+        connection.rollback();
+    }
+
+    // Strings are always quoted so that an empty value stays distinct from NULL
+    private void writeText(String value) throws IOException {
+        if (value == null) return;
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNumber(Number value) throws IOException {
+        if (value == null) return;
+        writer.write(value.toString());
+    }
+}
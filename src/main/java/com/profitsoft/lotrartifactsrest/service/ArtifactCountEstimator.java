@@ -0,0 +1,51 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListRequestDto;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimates the number of artifacts matching list filters from the PostgreSQL planner
+ * instead of counting them. Estimates are cached per filter combination for a short time.
+ */
+@Component
+public class ArtifactCountEstimator {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+(?:\\.\\d+)?)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<ArtifactSqlFilter, Long> estimates;
+
+    public ArtifactCountEstimator(JdbcTemplate jdbcTemplate,
+                                  @Value("${artifact.list.count-estimate.ttl:30s}") Duration ttl,
+                                  @Value("${artifact.list.count-estimate.max-entries:1000}") long maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimates = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public long estimate(ArtifactListRequestDto requestDto) {
+        return estimates.get(ArtifactSqlFilter.of(requestDto), this::queryEstimate);
+    }
+
+    private long queryEstimate(ArtifactSqlFilter filter) {
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM artifact a" + filter.sql(" WHERE ");
+        String plan = jdbcTemplate.queryForObject(sql, String.class, filter.args());
+
+        Matcher matcher = PLAN_ROWS.matcher(plan == null ? "" : plan);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected EXPLAIN output: " + plan);
+        }
+        return (long) Double.parseDouble(matcher.group(1));
+    }
+}
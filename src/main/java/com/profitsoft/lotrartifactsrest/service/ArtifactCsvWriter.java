@@ -0,0 +1,61 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import com.profitsoft.lotrartifactsrest.model.Creator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes artifacts as CSV rows straight into the underlying writer.
+ */
+class ArtifactCsvWriter {
+
+    private final Writer writer;
+
+    ArtifactCsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void writeHeader() throws IOException {
+        writeCsvRow("Id", "Name", "Origin", "Tags", "Year Created", "Power Level",
+                "Creator Name", "Creator Race", "Creator Realm");
+    }
+
+    void writeArtifact(Artifact a) throws IOException {
+        Creator c = a.getCreator();
+        writeCsvRow(
+                a.getId(),
+                a.getName(),
+                a.getOrigin(),
+                a.getTags(),
+                a.getYearCreated(),
+                a.getPowerLevel(),
+                c != null ? c.getName() : null,
+                c != null ? c.getRace() : null,
+                c != null ? c.getRealm() : null
+        );
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(Object value) {
+        if (value == null) return "";
+        String s = String.valueOf(value);
+
+        boolean mustQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
+        if (!mustQuote) return s;
+
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
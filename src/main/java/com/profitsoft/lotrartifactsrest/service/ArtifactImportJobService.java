@@ -0,0 +1,215 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactImportJobDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactImportJobStatus;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactImportMode;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactImportResponseDto;
+import com.profitsoft.lotrartifactsrest.exception.NotFoundException;
+import com.profitsoft.lotrartifactsrest.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs uploads as background jobs. Uploaded files are spooled to a temporary file so the request
+ * can return immediately; at most {@code max-concurrent} jobs import at once, further jobs wait in
+ * a bounded queue and submissions beyond it are rejected.
+ */
+@Slf4j
+@Service
+public class ArtifactImportJobService {
+
+    private final ArtifactService artifactService;
+    private final ArtifactUploadParser artifactUploadParser;
+    private final ArtifactMetrics artifactMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ArtifactImportJobService(ArtifactService artifactService,
+                                    ArtifactUploadParser artifactUploadParser,
+                                    ArtifactMetrics artifactMetrics,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${artifact.import.jobs.max-concurrent:2}") int maxConcurrent,
+                                    @Value("${artifact.import.jobs.queue-capacity:8}") int queueCapacity,
+                                    @Value("${artifact.import.jobs.retention:1h}") Duration retention) {
+        this.artifactService = artifactService;
+        this.artifactUploadParser = artifactUploadParser;
+        this.artifactMetrics = artifactMetrics;
+        this.retention = retention;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("artifact-import-", 0).factory());
+
+        Gauge.builder("artifact.import.jobs", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Import jobs by state")
+                .tag("state", "running")
+                .register(meterRegistry);
+        Gauge.builder("artifact.import.jobs", executor, pool -> pool.getQueue().size())
+                .description("Import jobs by state")
+                .tag("state", "queued")
+                .register(meterRegistry);
+    }
+
+    public ArtifactImportJobDto submit(MultipartFile file, ArtifactImportMode mode) {
+        MediaType format = artifactUploadParser.resolveFormat(file);
+        evictExpiredJobs();
+
+        Path spooled = spool(file);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, mode, spooled);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            deleteQuietly(spooled);
+            throw new TooManyRequestsException("Too many import jobs in progress, retry later");
+        }
+        return toDto(job);
+    }
+
+    public ArtifactImportJobDto getJob(String jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    public ArtifactImportJobDto cancel(String jobId) {
+        ImportJob job = findJob(jobId);
+        job.progress.cancel();
+        // A job still waiting in the queue never starts; a running job stops before its next record
+        if (executor.remove(job.task)) {
+            job.finish(ArtifactImportJobStatus.CANCELLED);
+            deleteQuietly(job.file);
+        }
+        return toDto(job);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(job -> job.progress.cancel());
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job) {
+        job.start();
+        // The spooled file keeps the upload's compression and is inflated while it is read
+        try (InputStream inputStream = PayloadCompression.decompress(Files.newInputStream(job.file), null)) {
+            job.result = artifactService.importArtifacts(inputStream, job.format, job.mode, job.progress);
+            job.finish(job.progress.isCancelled() ? ArtifactImportJobStatus.CANCELLED : ArtifactImportJobStatus.COMPLETED);
+        } catch (CancellationException ex) {
+            job.finish(ArtifactImportJobStatus.CANCELLED);
+        } catch (Exception ex) {
+            log.warn("Import job {} failed: {}", job.id, ex.getMessage());
+            job.error = ex.getMessage();
+            job.finish(ArtifactImportJobStatus.FAILED);
+        } finally {
+            deleteQuietly(job.file);
+        }
+    }
+
+    private ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Import job with id '%s' not found".formatted(jobId));
+        }
+        return job;
+    }
+
+    private void evictExpiredJobs() {
+        Instant threshold = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    private static Path spool(MultipartFile file) {
+        try {
+            Path path = Files.createTempFile("artifact-import-", ".upload");
+            file.transferTo(path);
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool the uploaded file", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static ArtifactImportJobDto toDto(ImportJob job) {
+        Instant startedAt = job.startedAt;
+        Instant finishedAt = job.finishedAt;
+        long parsed = job.progress.getParsed();
+
+        double rowsPerSecond = 0;
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            rowsPerSecond = millis > 0 ? parsed * 1000.0 / millis : 0;
+        }
+
+        return ArtifactImportJobDto.builder()
+                .id(job.id)
+                .status(job.status)
+                .mode(job.mode)
+                .parsed(parsed)
+                .imported(job.progress.getImported())
+                .failed(job.progress.getFailed())
+                .rowsPerSecond(rowsPerSecond)
+                .submittedAt(job.submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .result(job.result)
+                .error(job.error)
+                .build();
+    }
+
+    private class ImportJob {
+        private final String id;
+        private final MediaType format;
+        private final ArtifactImportMode mode;
+        private final Path file;
+        private final Instant submittedAt = Instant.now();
+        private final ArtifactImportProgress progress;
+        private final Runnable task = () -> run(this);
+        private volatile ArtifactImportJobStatus status = ArtifactImportJobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile ArtifactImportResponseDto result;
+        private volatile String error;
+
+        private ImportJob(String id, MediaType format, ArtifactImportMode mode, Path file) {
+            this.id = id;
+            this.format = format;
+            this.mode = mode;
+            this.file = file;
+            this.progress = artifactMetrics.newImportProgress(mode);
+        }
+
+        private void start() {
+            startedAt = Instant.now();
+            status = ArtifactImportJobStatus.RUNNING;
+        }
+
+        private void finish(ArtifactImportJobStatus finalStatus) {
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.noop.NoopCounter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of a running import. Updated by the parsing thread and read concurrently
+ * by progress requests; cancellation is cooperative and checked between records.
+ */
+public class ArtifactImportProgress {
+
+    private final LongAdder parsed = new LongAdder();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Counter parsedCounter;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+    private volatile boolean cancelled;
+
+    public ArtifactImportProgress() {
+        this(noopCounter(), noopCounter(), noopCounter());
+    }
+
+    ArtifactImportProgress(Counter parsedCounter, Counter importedCounter, Counter failedCounter) {
+        this.parsedCounter = parsedCounter;
+        this.importedCounter = importedCounter;
+        this.failedCounter = failedCounter;
+    }
+
+    void recordParsed() {
+        parsed.increment();
+        parsedCounter.increment();
+    }
+
+    void recordImported(long count) {
+        imported.add(count);
+        importedCounter.increment(count);
+    }
+
+    void recordFailed(long count) {
+        failed.add(count);
+        failedCounter.increment(count);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getParsed() {
+        return parsed.sum();
+    }
+
+    public long getImported() {
+        return imported.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private static Counter noopCounter() {
+        return new NoopCounter(new Meter.Id("artifact.import.records", Tags.empty(), null, null, Meter.Type.COUNTER));
+    }
+}
@@ -0,0 +1,49 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writer threads shared by all running imports. Every writer holds one pooled connection while it
+ * persists a chunk, so the number of writers is capped below the connection pool size to leave
+ * connections for regular requests, however many imports run at once.
+ */
+@Slf4j
+@Component
+public class ArtifactImportWriterPool {
+
+    private final int writers;
+    private final ExecutorService executor;
+
+    public ArtifactImportWriterPool(@Value("${artifact.import.writers:4}") int configuredWriters,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.writers = Math.max(1, Math.min(configuredWriters, connectionPoolSize - 2));
+        if (writers < configuredWriters) {
+            log.warn("artifact.import.writers={} capped to {} for a connection pool of {}",
+                    configuredWriters, writers, connectionPoolSize);
+        }
+        this.executor = Executors.newFixedThreadPool(writers, Thread.ofPlatform().name("artifact-writer-", 0).factory());
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Number of chunks an import may have queued or in flight before its parser blocks.
+     */
+    int maxPendingChunks() {
+        return writers * 2;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactImportMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Meters for the import and report paths. Import counters are tagged by mode and outcome only,
+ * so throughput is read as {@code rate(artifact_import_records_total[1m])} without per-job series.
+ */
+@Component
+public class ArtifactMetrics {
+
+    private final Map<ArtifactImportMode, ImportCounters> importCounters = new EnumMap<>(ArtifactImportMode.class);
+    private final Counter reportRows;
+    private final Counter reportBytes;
+
+    public ArtifactMetrics(MeterRegistry meterRegistry) {
+        for (ArtifactImportMode mode : ArtifactImportMode.values()) {
+            importCounters.put(mode, new ImportCounters(
+                    importCounter(meterRegistry, mode, "parsed"),
+                    importCounter(meterRegistry, mode, "imported"),
+                    importCounter(meterRegistry, mode, "failed")));
+        }
+        this.reportRows = Counter.builder("artifact.report.rows")
+                .description("CSV rows written by /_report")
+                .register(meterRegistry);
+        this.reportBytes = Counter.builder("artifact.report.bytes")
+                .description("Bytes sent by /_report after compression")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the progress of a new import; its counters also feed the import meters.
+     */
+    public ArtifactImportProgress newImportProgress(ArtifactImportMode mode) {
+        ImportCounters counters = importCounters.get(mode);
+        return new ArtifactImportProgress(counters.parsed(), counters.imported(), counters.failed());
+    }
+
+    void recordReportRows(long rows) {
+        reportRows.increment(rows);
+    }
+
+    OutputStream countReportBytes(OutputStream outputStream) {
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                reportBytes.increment();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                reportBytes.increment(len);
+            }
+        };
+    }
+
+    private static Counter importCounter(MeterRegistry meterRegistry, ArtifactImportMode mode, String outcome) {
+        return Counter.builder("artifact.import.records")
+                .description("Artifact records processed by imports")
+                .tag("mode", mode.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record ImportCounters(Counter parsed, Counter imported, Counter failed) {}
+}
@@ -0,0 +1,41 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * If-Match precondition of an artifact write. {@link #NONE} writes unconditionally, {@link #ANY} ({@code *}) only
+ * requires the artifact to exist, otherwise the row must be at one of {@code versions}.
+ */
+public record ArtifactPrecondition(boolean required, List<Long> versions) {
+
+    public static final ArtifactPrecondition NONE = new ArtifactPrecondition(false, List.of());
+    public static final ArtifactPrecondition ANY = new ArtifactPrecondition(true, List.of());
+
+    public static ArtifactPrecondition ifMatch(String ifMatch) {
+        if (ifMatch == null) return NONE;
+        if (ifMatch.trim().equals("*")) return ANY;
+
+        // Weak tags and tags not issued by this service can never match, so only ours are kept
+        List<Long> versions = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .map(ArtifactResponseCache::rowVersion)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match '%s' does not match the artifact".formatted(ifMatch));
+        }
+        return new ArtifactPrecondition(true, versions);
+    }
+
+    /**
+     * Version of the row after a successful write, or {@code null} when it cannot be told without reading the row.
+     */
+    public Long versionAfterWrite() {
+        return versions.size() == 1 ? versions.getFirst() + 1 : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+/**
+ * Streams artifact records of one upload format. Implementations read records one at a time,
+ * count every record they read as parsed and skip records that cannot be bound.
+ */
+interface ArtifactRecordParser {
+
+    void parse(InputStream inputStream, Consumer<ArtifactSaveDto> onArtifact, ArtifactImportProgress progress);
+
+    /**
+     * Hands a bound record to {@code onArtifact}; a rejected record is counted as failed, while
+     * I/O failures and cancellation of the downstream writer abort the import.
+     */
+    static void deliver(ArtifactSaveDto dto, Consumer<ArtifactSaveDto> onArtifact, ArtifactImportProgress progress) {
+        try {
+            onArtifact.accept(dto);
+        } catch (UncheckedIOException | CancellationException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            progress.recordFailed(1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.profitsoft.lotrartifactsrest.datasource.ReadYourWrites;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactDetailsDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListResponseDto;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized artifact list pages and derives strong ETags for artifact reads.
+ * Entries are keyed by a write version that every artifact or creator mutation bumps
+ * through {@link WriteTracker}, so a write makes all previous pages and ETags unreachable.
+ * The version is local to this instance.
+ */
+@Component
+public class ArtifactResponseCache {
+
+    // Distinguishes ETags issued before a restart from those issued after it
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final ReadYourWrites readYourWrites;
+    private final Cache<String, Entry> listPages;
+
+    public ArtifactResponseCache(ObjectMapper objectMapper,
+                                 ReadYourWrites readYourWrites,
+                                 @Value("${artifact.response-cache.max-entries:1000}") long maxEntries,
+                                 @Value("${artifact.response-cache.ttl:60s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.readYourWrites = readYourWrites;
+        this.listPages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    public String listEtag(ArtifactListRequestDto requestDto) {
+        return etag("list", listKey(requestDto));
+    }
+
+    /**
+     * Current write version. Capture it before reading an artifact, so a write racing with the read
+     * leaves the response under a tag that is already retired.
+     */
+    public long writeVersion() {
+        return version.get();
+    }
+
+    /**
+     * Tags an artifact with a strong ETag, {@code "<rowVersion>.<digest>"}. The digest covers the write version
+     * too, so creator changes retire it; If-Match preconditions only compare the leading row version.
+     */
+    public TaggedArtifact tag(ArtifactDetailsDto artifact, long writeVersion) {
+        return new TaggedArtifact(artifactEtag(artifact.getId(), artifact.getVersion(), writeVersion), artifact);
+    }
+
+    /**
+     * Reads an artifact through {@code loader} and tags it. Within {@code max-lag} of a write the read goes to the
+     * primary, otherwise a lagging replica could return the old row under a tag that If-None-Match treats as current.
+     */
+    public TaggedArtifact getArtifact(Supplier<ArtifactDetailsDto> loader) {
+        long writeVersion = writeVersion();
+        return tag(readYourWrites.readForCache(loader), writeVersion);
+    }
+
+    /**
+     * Returns the tag of {@code ifNoneMatch} that is still the current ETag of the artifact, or {@code null}.
+     * Answers without a read, since the row version is taken from the tag itself.
+     */
+    public String matchArtifactEtag(Long artifactId, String ifNoneMatch) {
+        if (ifNoneMatch == null) return null;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            Long rowVersion = rowVersion(value);
+            if (rowVersion != null && value.equals(artifactEtag(artifactId, rowVersion, version.get()))) return value;
+        }
+        return null;
+    }
+
+    /**
+     * Row version carried by an artifact ETag, or {@code null} when the tag is weak or was not issued by this service.
+     */
+    public static Long rowVersion(String etag) {
+        if (etag == null || etag.length() < 2 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            return null;
+        }
+        int separator = etag.indexOf('.');
+        if (separator < 0) return null;
+        try {
+            return Long.valueOf(etag.substring(1, separator));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    public Entry getList(ArtifactListRequestDto requestDto, Supplier<ArtifactListResponseDto> loader) {
+        // Capture the version before querying, so a concurrent write can only leave a newer page under an older key
+        String etag = listEtag(requestDto);
+        return listPages.get(etag, key -> new Entry(etag, objectMapper.writeValueAsBytes(readYourWrites.readForCache(loader))));
+    }
+
+    private String etag(String kind, String key) {
+        return '"' + digest(kind, key, version.get()) + '"';
+    }
+
+    private String artifactEtag(Long artifactId, long rowVersion, long writeVersion) {
+        return '"' + Long.toString(rowVersion) + '.' + digest("artifact", artifactId + "|" + rowVersion, writeVersion) + '"';
+    }
+
+    private String digest(String kind, String key, long writeVersion) {
+        String source = epoch + '|' + writeVersion + '|' + kind + '|' + key;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String listKey(ArtifactListRequestDto requestDto) {
+        return String.join("|",
+                String.valueOf(requestDto.getCreatorId()),
+                requestDto.getOrigin() == null ? "null" : requestDto.getOrigin().toLowerCase(Locale.ROOT),
+                String.join(",", ArtifactSpecification.normalizeTags(requestDto.getTagsAny())),
+                String.join(",", ArtifactSpecification.normalizeTags(requestDto.getTagsAll())),
+                String.valueOf(requestDto.getYearFrom()),
+                String.valueOf(requestDto.getYearTo()),
+                String.valueOf(requestDto.getPowerFrom()),
+                String.valueOf(requestDto.getPowerTo()),
+                requestDto.getCursor() == null ? String.valueOf(requestDto.getPage()) : "cursor:" + requestDto.getCursor(),
+                String.valueOf(requestDto.getSize()),
+                String.valueOf(requestDto.getCountMode()));
+    }
+
+    public record Entry(String etag, byte[] body) {}
+
+    public record TaggedArtifact(String etag, ArtifactDetailsDto artifact) {}
+}
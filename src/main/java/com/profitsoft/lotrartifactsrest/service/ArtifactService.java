@@ -2,168 +2,569 @@ package com.profitsoft.lotrartifactsrest.service;
 
 import com.profitsoft.lotrartifactsrest.dto.*;
 import com.profitsoft.lotrartifactsrest.exception.NotFoundException;
+import com.profitsoft.lotrartifactsrest.exception.PreconditionFailedException;
 import com.profitsoft.lotrartifactsrest.model.Artifact;
 import com.profitsoft.lotrartifactsrest.model.Creator;
 import com.profitsoft.lotrartifactsrest.repository.ArtifactRepository;
-import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import com.profitsoft.lotrartifactsrest.repository.ArtifactSearchRepository;
 import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSpecification;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.DeleteSpecification;
+import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.sql.DataSource;
+
+import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "artifact.service", histogram = true)
 public class ArtifactService {
+    private static final Sort LIST_SORT = Sort.by("id");
+
     private final ArtifactRepository artifactRepository;
-    private final CreatorRepository creatorRepository;
+    private final ArtifactSearchRepository artifactSearchRepository;
+    private final CreatorCache creatorCache;
     private final ArtifactUploadParser artifactUploadParser;
+    private final ArtifactCountEstimator artifactCountEstimator;
+    private final ArtifactResponseCache artifactResponseCache;
+    private final ArtifactImportWriterPool importWriterPool;
+    private final ArtifactMetrics artifactMetrics;
+    private final WriteTracker writeTracker;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final DataSource dataSource;
+    private final int reportFetchSize;
+    private final int reportFlushRows;
+    private final int importChunkSize;
 
     public ArtifactService(ArtifactRepository artifactRepository,
-                           CreatorRepository creatorRepository,
-                           ArtifactUploadParser artifactUploadParser) {
+                           ArtifactSearchRepository artifactSearchRepository,
+                           CreatorCache creatorCache,
+                           ArtifactUploadParser artifactUploadParser,
+                           ArtifactCountEstimator artifactCountEstimator,
+                           ArtifactResponseCache artifactResponseCache,
+                           ArtifactImportWriterPool importWriterPool,
+                           ArtifactMetrics artifactMetrics,
+                           WriteTracker writeTracker,
+                           Validator validator,
+                           PlatformTransactionManager transactionManager,
+                           DataSource dataSource,
+                           @Value("${artifact.report.fetch-size:1000}") int reportFetchSize,
+                           @Value("${artifact.report.flush-rows:1000}") int reportFlushRows,
+                           @Value("${artifact.import.chunk-size:500}") int importChunkSize) {
         this.artifactRepository = artifactRepository;
-        this.creatorRepository = creatorRepository;
+        this.artifactSearchRepository = artifactSearchRepository;
+        this.creatorCache = creatorCache;
         this.artifactUploadParser = artifactUploadParser;
+        this.artifactCountEstimator = artifactCountEstimator;
+        this.artifactResponseCache = artifactResponseCache;
+        this.importWriterPool = importWriterPool;
+        this.artifactMetrics = artifactMetrics;
+        this.writeTracker = writeTracker;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.dataSource = dataSource;
+        this.reportFetchSize = reportFetchSize;
+        this.reportFlushRows = reportFlushRows;
+        this.importChunkSize = importChunkSize;
     }
 
     public ArtifactDetailsDto saveArtifact(ArtifactSaveDto dto) {
-        Creator creator = creatorRepository.findById(dto.getCreatorId())
+        Creator creator = creatorCache.findById(dto.getCreatorId())
                 .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(dto.getCreatorId())));
         Artifact artifact = convertToEntity(dto, creator);
         Artifact savedArtifact = artifactRepository.save(artifact);
+        writeTracker.artifactsWritten();
         return convertToDetailsDto(savedArtifact);
     }
 
+    @Transactional(readOnly = true)
     public ArtifactDetailsDto getArtifactById(Long artifactId) {
-        Artifact artifact = artifactRepository.findById(artifactId)
+        Artifact artifact = artifactRepository.findWithCreatorById(artifactId)
                 .orElseThrow(() -> new NotFoundException("Artifact with id '%s' not found".formatted(artifactId)));
         return convertToDetailsDto(artifact);
     }
 
+    public ArtifactResponseCache.TaggedArtifact getTaggedArtifactById(Long artifactId) {
+        return artifactResponseCache.getArtifact(
+                () -> readOnlyTransactionTemplate.execute(status -> getArtifactById(artifactId)));
+    }
+
+    /**
+     * Returns the tag of {@code ifNoneMatch} that is still current for the artifact, or {@code null} when it must be read.
+     */
+    public String matchArtifactEtag(Long artifactId, String ifNoneMatch) {
+        return artifactResponseCache.matchArtifactEtag(artifactId, ifNoneMatch);
+    }
+
+    public String getArtifactsListEtag(ArtifactListRequestDto requestDto) {
+        return artifactResponseCache.listEtag(requestDto);
+    }
+
+    public ArtifactResponseCache.Entry getCachedArtifactsList(ArtifactListRequestDto requestDto) {
+        return artifactResponseCache.getList(requestDto,
+                () -> readOnlyTransactionTemplate.execute(status -> getPageableArtifactsList(requestDto)));
+    }
+
+    @Transactional(readOnly = true)
     public ArtifactListResponseDto getPageableArtifactsList(ArtifactListRequestDto requestDto) {
 
         Specification<Artifact> spec = buildSpecification(requestDto);
 
+        if (requestDto.getCursor() != null) {
+            return getArtifactsWindow(spec, requestDto);
+        }
+
         PageRequest pageRequest = PageRequest.of(
                 requestDto.getPage(),
-                requestDto.getSize()
+                requestDto.getSize(),
+                LIST_SORT
         );
 
-        Page<Artifact> page = artifactRepository.findAll(spec, pageRequest);
+        Slice<Artifact> slice = requestDto.getCountMode() == ArtifactCountMode.EXACT
+                ? artifactRepository.findAll(spec, pageRequest)
+                : artifactRepository.findBy(spec, query -> query.sortBy(LIST_SORT).project("creator").slice(pageRequest));
 
-        return new ArtifactListResponseDto(
-                page.getContent().stream()
+        Long total = switch (requestDto.getCountMode()) {
+            case EXACT -> ((Page<Artifact>) slice).getTotalElements();
+            case ESTIMATED -> estimateTotal(requestDto, pageRequest.getOffset() + slice.getNumberOfElements(), slice.hasNext());
+            case NONE -> null;
+        };
+
+        return toListResponse(slice.getContent(), slice.hasNext(), total, requestDto);
+    }
+
+    private ArtifactListResponseDto getArtifactsWindow(Specification<Artifact> spec, ArtifactListRequestDto requestDto) {
+        KeysetScrollPosition position = ScrollPosition.forward(Map.of("id", decodeCursor(requestDto.getCursor())));
+
+        Window<Artifact> window = artifactRepository.findBy(spec, query -> query
+                .sortBy(LIST_SORT)
+                .limit(requestDto.getSize())
+                .project("creator")
+                .scroll(position));
+
+        Long total = switch (requestDto.getCountMode()) {
+            case EXACT -> artifactRepository.count(spec);
+            case ESTIMATED -> estimateTotal(requestDto, window.size(), window.hasNext());
+            case NONE -> null;
+        };
+
+        return toListResponse(window.getContent(), window.hasNext(), total, requestDto);
+    }
+
+    private long estimateTotal(ArtifactListRequestDto requestDto, long seen, boolean hasNext) {
+        long estimate = artifactCountEstimator.estimate(requestDto);
+        // The planner may underestimate; never report fewer rows than were actually read
+        return Math.max(estimate, hasNext ? seen + 1 : seen);
+    }
+
+    private static ArtifactListResponseDto toListResponse(List<Artifact> artifacts, boolean hasNext,
+                                                          Long total, ArtifactListRequestDto requestDto) {
+        return ArtifactListResponseDto.builder()
+                .list(artifacts.stream()
                         .map(ArtifactService::convertToDetailsDto)
-                        .toList(),
-                page.getTotalPages()
-        );
+                        .toList())
+                .totalPages(total == null ? null : (int) ((total + requestDto.getSize() - 1) / requestDto.getSize()))
+                .totalEstimated(total != null && requestDto.getCountMode() == ArtifactCountMode.ESTIMATED)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(artifacts.getLast()) : null)
+                .build();
     }
 
-    public ArtifactDetailsDto updateArtifact(Long artifactId, ArtifactSaveDto dto) {
-        Artifact artifact = artifactRepository.findById(artifactId)
-                .orElseThrow(() -> new NotFoundException("Artifact with id '%s' not found".formatted(artifactId)));
-        Creator creator = creatorRepository.findById(dto.getCreatorId())
+    /**
+     * Ranks artifacts matching the search terms by relevance. One extra id is read to tell whether
+     * another page follows; no total is computed, since counting every match would defeat the index.
+     */
+    @Transactional(readOnly = true)
+    public ArtifactListResponseDto searchArtifacts(ArtifactSearchRequestDto requestDto) {
+        int size = requestDto.getSize();
+        long offset = (long) requestDto.getPage() * size;
+        List<Long> ids = artifactSearchRepository.searchIds(
+                requestDto.getQuery(), ArtifactSqlFilter.of(requestDto), offset, size + 1);
+
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        Map<Long, Artifact> artifacts = new HashMap<>();
+        artifactRepository.findAllByIdIn(pageIds).forEach(artifact -> artifacts.put(artifact.getId(), artifact));
+
+        return ArtifactListResponseDto.builder()
+                .list(pageIds.stream()
+                        .map(artifacts::get)
+                        .filter(Objects::nonNull)
+                        .map(ArtifactService::convertToDetailsDto)
+                        .toList())
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Overwrites the artifact in one UPDATE, conditional on {@code precondition}. When the precondition pins a single
+     * version the response is built from the request; otherwise the new version is unknown and the row is read back.
+     */
+    public ArtifactResponseCache.TaggedArtifact updateArtifact(Long artifactId, ArtifactSaveDto dto,
+                                                               ArtifactPrecondition precondition) {
+        Creator creator = creatorCache.findById(dto.getCreatorId())
                 .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(dto.getCreatorId())));
 
-        artifact.setName(dto.getName());
-        artifact.setCreator(creator);
-        artifact.setOrigin(dto.getOrigin());
-        artifact.setTags(dto.getTags());
-        artifact.setYearCreated(dto.getYearCreated());
-        artifact.setPowerLevel(dto.getPowerLevel());
+        UpdateSpecification.UpdateOperation<Artifact> changes = (root, update, cb) -> {
+            update.set(root.<String>get("name"), dto.getName());
+            update.set(root.<Creator>get("creator"), creator);
+            assign(update, cb, root.get("origin"), dto.getOrigin());
+            assign(update, cb, root.get("tags"), dto.getTags());
+            assign(update, cb, root.get("yearCreated"), dto.getYearCreated());
+            assign(update, cb, root.get("powerLevel"), dto.getPowerLevel());
+            incrementVersion(root, update, cb);
+        };
+
+        if (artifactRepository.update(UpdateSpecification.update(changes).where(target(artifactId, precondition))) == 0) {
+            throw missingOrModified(artifactId, precondition);
+        }
+        writeTracker.artifactsWritten();
 
-        Artifact updatedArtifact = artifactRepository.save(artifact);
-        return convertToDetailsDto(updatedArtifact);
+        Long version = precondition.versionAfterWrite();
+        if (version == null) {
+            return readBack(artifactId);
+        }
+        // Taken after our own write was recorded, so the tag stays current until the next write
+        long writeVersion = artifactResponseCache.writeVersion();
+        Artifact updatedArtifact = convertToEntity(dto, creator);
+        updatedArtifact.setId(artifactId);
+        updatedArtifact.setVersion(version);
+        return artifactResponseCache.tag(convertToDetailsDto(updatedArtifact), writeVersion);
+    }
+
+    /**
+     * Applies the non-null fields of {@code dto} in one UPDATE, conditional on {@code precondition},
+     * then reads the artifact back for the response.
+     */
+    public ArtifactResponseCache.TaggedArtifact patchArtifact(Long artifactId, ArtifactPatchDto dto,
+                                                              ArtifactPrecondition precondition) {
+        if (dto.getName() == null && dto.getCreatorId() == null && dto.getOrigin() == null && dto.getTags() == null
+                && dto.getYearCreated() == null && dto.getPowerLevel() == null) {
+            throw new IllegalArgumentException("Patch must set at least one field");
+        }
+        Creator creator = dto.getCreatorId() == null ? null : creatorCache.findById(dto.getCreatorId())
+                .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(dto.getCreatorId())));
+
+        UpdateSpecification.UpdateOperation<Artifact> changes = (root, update, cb) -> {
+            if (dto.getName() != null) update.set(root.<String>get("name"), dto.getName());
+            if (creator != null) update.set(root.<Creator>get("creator"), creator);
+            if (dto.getOrigin() != null) update.set(root.<String>get("origin"), dto.getOrigin());
+            if (dto.getTags() != null) update.set(root.<String>get("tags"), dto.getTags());
+            if (dto.getYearCreated() != null) update.set(root.<Integer>get("yearCreated"), dto.getYearCreated());
+            if (dto.getPowerLevel() != null) update.set(root.<Integer>get("powerLevel"), dto.getPowerLevel());
+            incrementVersion(root, update, cb);
+        };
+
+        if (artifactRepository.update(UpdateSpecification.update(changes).where(target(artifactId, precondition))) == 0) {
+            throw missingOrModified(artifactId, precondition);
+        }
+        writeTracker.artifactsWritten();
+
+        return readBack(artifactId);
+    }
+
+    public void deleteArtifact(Long artifactId, ArtifactPrecondition precondition) {
+        if (artifactRepository.delete(DeleteSpecification.where(target(artifactId, precondition))) == 0) {
+            throw missingOrModified(artifactId, precondition);
+        }
+        writeTracker.artifactsWritten();
     }
 
-    public void deleteArtifact(Long artifactId) {
-        artifactRepository.findById(artifactId)
+    private ArtifactResponseCache.TaggedArtifact readBack(Long artifactId) {
+        long writeVersion = artifactResponseCache.writeVersion();
+        Artifact artifact = artifactRepository.findWithCreatorById(artifactId)
                 .orElseThrow(() -> new NotFoundException("Artifact with id '%s' not found".formatted(artifactId)));
-        artifactRepository.deleteById(artifactId);
+        return artifactResponseCache.tag(convertToDetailsDto(artifact), writeVersion);
     }
 
-    public ArtifactImportResponseDto importArtifacts(MultipartFile file) {
-        ArtifactUploadParser.ImportResult importResult = artifactUploadParser.parse(file, dto -> {
-            try {
-                saveArtifact(dto);
-            } catch (Exception ex) {
-                throw new IllegalArgumentException(ex.getMessage(), ex);
+    private static PredicateSpecification<Artifact> target(Long artifactId, ArtifactPrecondition precondition) {
+        return (root, cb) -> precondition.versions().isEmpty()
+                ? cb.equal(root.get("id"), artifactId)
+                : cb.and(cb.equal(root.get("id"), artifactId), root.get("version").in(precondition.versions()));
+    }
+
+    // A conditional write cannot tell a missing artifact from a changed one without another read; both fail the precondition
+    private static RuntimeException missingOrModified(Long artifactId, ArtifactPrecondition precondition) {
+        if (!precondition.required()) {
+            return new NotFoundException("Artifact with id '%s' not found".formatted(artifactId));
+        }
+        if (precondition.versions().isEmpty()) {
+            return new PreconditionFailedException("Artifact with id '%s' does not exist".formatted(artifactId));
+        }
+        return new PreconditionFailedException(
+                "Artifact with id '%s' is missing or no longer at a version given in If-Match".formatted(artifactId));
+    }
+
+    // Clearing a column through a criteria update needs a typed null literal
+    private static <Y> void assign(CriteriaUpdate<Artifact> update, CriteriaBuilder cb, Path<Y> path, Y value) {
+        if (value != null) {
+            update.set(path, value);
+        } else {
+            update.set(path, cb.nullLiteral(path.getJavaType()));
+        }
+    }
+
+    private static void incrementVersion(Root<Artifact> root, CriteriaUpdate<Artifact> update, CriteriaBuilder cb) {
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+    }
+
+    /**
+     * Applies the non-null fields of {@code requestDto} to every artifact matching its filter in one UPDATE statement.
+     */
+    public ArtifactBulkResponseDto bulkUpdateArtifacts(ArtifactBulkUpdateRequestDto requestDto) {
+        if (requestDto.getCreatorId() == null && requestDto.getOrigin() == null && requestDto.getTags() == null
+                && requestDto.getYearCreated() == null && requestDto.getPowerLevel() == null) {
+            throw new IllegalArgumentException("Bulk update must set at least one field");
+        }
+        PredicateSpecification<Artifact> predicate = buildBulkPredicate(requestDto.getFilter());
+        Creator creator = requestDto.getCreatorId() == null ? null : creatorCache.findById(requestDto.getCreatorId())
+                .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(requestDto.getCreatorId())));
+
+        UpdateSpecification.UpdateOperation<Artifact> changes = (root, update, cb) -> {
+            if (creator != null) update.set(root.<Creator>get("creator"), creator);
+            if (requestDto.getOrigin() != null) update.set(root.<String>get("origin"), requestDto.getOrigin());
+            if (requestDto.getTags() != null) update.set(root.<String>get("tags"), requestDto.getTags());
+            if (requestDto.getYearCreated() != null) update.set(root.<Integer>get("yearCreated"), requestDto.getYearCreated());
+            if (requestDto.getPowerLevel() != null) update.set(root.<Integer>get("powerLevel"), requestDto.getPowerLevel());
+            // Criteria updates skip @Version, so bump it explicitly to fail concurrent conditional writes
+            incrementVersion(root, update, cb);
+        };
+
+        if (requestDto.isDryRun()) {
+            return new ArtifactBulkResponseDto(artifactRepository.count(predicate), true);
+        }
+        long updated = artifactRepository.update(UpdateSpecification.update(changes).where(predicate));
+        writeTracker.artifactsWritten();
+        return new ArtifactBulkResponseDto(updated, false);
+    }
+
+    /**
+     * Deletes every artifact matching the filter of {@code requestDto} in one DELETE statement.
+     */
+    public ArtifactBulkResponseDto bulkDeleteArtifacts(ArtifactBulkDeleteRequestDto requestDto) {
+        PredicateSpecification<Artifact> predicate = buildBulkPredicate(requestDto.getFilter());
+
+        if (requestDto.isDryRun()) {
+            return new ArtifactBulkResponseDto(artifactRepository.count(predicate), true);
+        }
+        long deleted = artifactRepository.delete(DeleteSpecification.where(predicate));
+        writeTracker.artifactsWritten();
+        return new ArtifactBulkResponseDto(deleted, false);
+    }
+
+    public ArtifactImportResponseDto importArtifacts(MultipartFile file, ArtifactImportMode mode) {
+        MediaType format = artifactUploadParser.resolveFormat(file);
+        try (InputStream inputStream = PayloadCompression.decompress(file.getInputStream(), null)) {
+            return importArtifacts(inputStream, format, mode, artifactMetrics.newImportProgress(mode));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to process the uploaded file", e);
+        }
+    }
+
+    /**
+     * Imports a request body, inflating it on the fly when {@code contentEncoding} or its magic bytes say it is compressed.
+     */
+    public ArtifactImportResponseDto importArtifacts(InputStream body, String contentEncoding,
+                                                     MediaType format, ArtifactImportMode mode) {
+        try (InputStream inputStream = PayloadCompression.decompress(body, contentEncoding)) {
+            return importArtifacts(inputStream, format, mode, artifactMetrics.newImportProgress(mode));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to process the uploaded file", e);
+        }
+    }
+
+    /**
+     * Imports artifacts from a JSON array or NDJSON stream, reporting counters to {@code progress} as records
+     * are processed. A cancelled BATCH import keeps the chunks committed so far; a cancelled COPY import is rolled back.
+     */
+    public ArtifactImportResponseDto importArtifacts(InputStream inputStream, MediaType format, ArtifactImportMode mode,
+                                                     ArtifactImportProgress progress) {
+        try {
+            if (mode == ArtifactImportMode.COPY) {
+                copyImportArtifacts(inputStream, format, progress);
+            } else {
+                batchImportArtifacts(inputStream, format, progress);
             }
-        });
+        } finally {
+            writeTracker.artifactsWritten();
+        }
 
         return ArtifactImportResponseDto.builder()
-                .imported(importResult.imported())
-                .failed(importResult.failed())
+                .imported(progress.getImported())
+                .failed(progress.getFailed())
                 .build();
     }
 
-    public byte[] generateArtifactsReport(ArtifactListRequestDto requestDto) {
-        Specification<Artifact> spec = buildSpecification(requestDto);
+    private void batchImportArtifacts(InputStream inputStream, MediaType format, ArtifactImportProgress progress) {
+        ArtifactChunkWriter chunkWriter = new ArtifactChunkWriter(artifactRepository, transactionTemplate, importWriterPool,
+                importChunkSize, progress);
+
+        try {
+            artifactUploadParser.parse(inputStream, format, dto -> {
+                validateImportRecord(dto);
+                Creator creator = creatorCache.findById(dto.getCreatorId())
+                        .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(dto.getCreatorId())));
+                chunkWriter.add(convertToEntity(dto, creator));
+            }, progress);
+        } finally {
+            // Let chunks already handed to the writers finish before reporting, even if parsing failed
+            chunkWriter.flush();
+        }
+    }
+
+    private void copyImportArtifacts(InputStream inputStream, MediaType format, ArtifactImportProgress progress) {
+        try (Connection connection = dataSource.getConnection();
+             ArtifactCopyWriter copyWriter = new ArtifactCopyWriter(connection)) {
 
-        List<Artifact> artifacts = artifactRepository.findAll(spec);
+            long[] staged = {0};
+            artifactUploadParser.parse(inputStream, format, dto -> {
+                validateImportRecord(dto);
+                copyWriter.add(dto);
+                staged[0]++;
+            }, progress);
 
-        return buildArtifactsCsv(artifacts).getBytes(StandardCharsets.UTF_8);
+            if (progress.isCancelled()) {
+                throw new CancellationException("COPY import cancelled");
+            }
+            long rejected = copyWriter.finish();
+
+            progress.recordImported(staged[0] - rejected);
+            progress.recordFailed(rejected);
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY import failed", e);
+        }
     }
 
-    private String buildArtifactsCsv(List<Artifact> artifacts) {
-        StringBuilder sb = new StringBuilder(artifacts.size() * 128);
+    /**
+     * Streams the CSV report to {@code outputStream}, compressed with {@code contentEncoding} when it is not {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public void writeArtifactsReport(ArtifactListRequestDto requestDto, OutputStream outputStream,
+                                     String contentEncoding) throws IOException {
+        OutputStream countedStream = artifactMetrics.countReportBytes(outputStream);
+        if (contentEncoding == null) {
+            writeArtifactsReport(requestDto, countedStream);
+            return;
+        }
 
-        writeCsvRow(sb, "Id", "Name", "Origin", "Tags", "Year Created", "Power Level",
-                "Creator Name", "Creator Race", "Creator Realm");
+        // The Deflater or native zstd context is released either way; only a complete report gets the frame trailer
+        PayloadCompression.CompressedOutputStream reportStream = PayloadCompression.compress(countedStream, contentEncoding);
+        try {
+            writeArtifactsReport(requestDto, reportStream);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                reportStream.abandon();
+            } catch (IOException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+            throw ex;
+        }
+        reportStream.close();
+    }
+
+    private void writeArtifactsReport(ArtifactListRequestDto requestDto, OutputStream outputStream) throws IOException {
+        Specification<Artifact> spec = buildSpecification(requestDto);
 
-        for (Artifact a : artifacts) {
-            Creator c = a.getCreator();
-            writeCsvRow(sb,
-                    a.getId(),
-                    a.getName(),
-                    a.getOrigin(),
-                    a.getTags(),
-                    a.getYearCreated(),
-                    a.getPowerLevel(),
-                    c != null ? c.getName() : null,
-                    c != null ? c.getRace() : null,
-                    c != null ? c.getRealm() : null
-            );
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ArtifactCsvWriter csvWriter = new ArtifactCsvWriter(writer);
+        csvWriter.writeHeader();
+        csvWriter.flush();
+
+        long rows = 0;
+        try (Stream<Artifact> artifacts = artifactRepository.streamAll(spec, reportFetchSize)) {
+            Iterator<Artifact> iterator = artifacts.iterator();
+            while (iterator.hasNext()) {
+                Artifact artifact = iterator.next();
+                csvWriter.writeArtifact(artifact);
+                artifactRepository.detach(artifact);
+
+                if (++rows % reportFlushRows == 0) {
+                    csvWriter.flush();
+                    artifactMetrics.recordReportRows(reportFlushRows);
+                }
+            }
         }
 
-        return sb.toString();
+        csvWriter.flush();
+        artifactMetrics.recordReportRows(rows % reportFlushRows);
     }
 
-    private void writeCsvRow(StringBuilder sb, Object... values) {
-        for (int i = 0; i < values.length; i++) {
-            if (i > 0) sb.append(',');
-            sb.append(escapeCsv(values[i]));
+    private static String encodeCursor(Artifact lastArtifact) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastArtifact.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor '%s'".formatted(cursor));
         }
-        sb.append('\n');
     }
 
-    private String escapeCsv(Object value) {
-        if (value == null) return "";
-        String s = String.valueOf(value);
+    private void validateImportRecord(ArtifactSaveDto dto) {
+        Set<ConstraintViolation<ArtifactSaveDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+    }
 
-        boolean mustQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
-        if (!mustQuote) return s;
+    private Specification<Artifact> buildSpecification(ArtifactFilterDto filter) {
+        return Specification.where(buildPredicate(filter));
+    }
 
-        return "\"" + s.replace("\"", "\"\"") + "\"";
+    // An empty filter would silently rewrite the whole table, so bulk operations must narrow it down
+    private static PredicateSpecification<Artifact> buildBulkPredicate(ArtifactFilterDto filter) {
+        if (ArtifactSqlFilter.of(filter).conditions().isEmpty()) {
+            throw new IllegalArgumentException("Bulk operations require at least one filter");
+        }
+        return buildPredicate(filter);
     }
 
-    private Specification<Artifact> buildSpecification(ArtifactListRequestDto requestDto) {
-        return Specification
-                .where(ArtifactSpecification.hasCreator(requestDto.getCreatorId()))
-                .and(ArtifactSpecification.hasOrigin(requestDto.getOrigin()))
+    private static PredicateSpecification<Artifact> buildPredicate(ArtifactFilterDto filter) {
+        return PredicateSpecification
+                .where(ArtifactSpecification.hasCreator(filter.getCreatorId()))
+                .and(ArtifactSpecification.hasOrigin(filter.getOrigin()))
+                .and(ArtifactSpecification.hasAnyTag(filter.getTagsAny()))
+                .and(ArtifactSpecification.hasAllTags(filter.getTagsAll()))
                 .and(ArtifactSpecification.yearBetween(
-                        requestDto.getYearFrom(),
-                        requestDto.getYearTo()))
+                        filter.getYearFrom(),
+                        filter.getYearTo()))
                 .and(ArtifactSpecification.powerBetween(
-                        requestDto.getPowerFrom(),
-                        requestDto.getPowerTo()));
+                        filter.getPowerFrom(),
+                        filter.getPowerTo()));
     }
 
-    private static Artifact convertToEntity(ArtifactSaveDto dto, Creator creator) {
+    static Artifact convertToEntity(ArtifactSaveDto dto, Creator creator) {
         Artifact artifact = new Artifact();
         artifact.setName(dto.getName());
         artifact.setCreator(creator);
@@ -174,7 +575,7 @@ public class ArtifactService {
         return artifact;
     }
 
-    private static ArtifactDetailsDto convertToDetailsDto(Artifact artifact) {
+    static ArtifactDetailsDto convertToDetailsDto(Artifact artifact) {
         return ArtifactDetailsDto.builder()
                 .id(artifact.getId())
                 .name(artifact.getName())
@@ -182,6 +583,7 @@ public class ArtifactService {
                 .tags(artifact.getTags())
                 .yearCreated(artifact.getYearCreated())
                 .powerLevel(artifact.getPowerLevel())
+                .version(artifact.getVersion())
                 .creator(CreatorDetailsDto.builder()
                         .id(artifact.getCreator().getId())
                         .name(artifact.getCreator().getName())
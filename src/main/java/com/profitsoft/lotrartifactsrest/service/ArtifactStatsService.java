@@ -0,0 +1,63 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsBucketDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsResponseDto;
+import com.profitsoft.lotrartifactsrest.repository.ArtifactStatsRepository;
+import com.profitsoft.lotrartifactsrest.repository.spec.ArtifactSqlFilter;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Serves artifact aggregates. Filtered requests are aggregated from the live table; unfiltered dashboard requests
+ * are rolled up from the materialized summary, which is refreshed on a fixed delay and may lag recent writes.
+ */
+@Slf4j
+@Service
+@Timed(value = "artifact.stats.service", histogram = true)
+public class ArtifactStatsService {
+
+    private final ArtifactStatsRepository artifactStatsRepository;
+    private final boolean summaryEnabled;
+    private volatile Instant summaryRefreshedAt;
+
+    public ArtifactStatsService(ArtifactStatsRepository artifactStatsRepository,
+                                @Value("${artifact.stats.summary.enabled:true}") boolean summaryEnabled) {
+        this.artifactStatsRepository = artifactStatsRepository;
+        this.summaryEnabled = summaryEnabled;
+    }
+
+    @Transactional(readOnly = true)
+    public ArtifactStatsResponseDto getStats(ArtifactStatsRequestDto requestDto) {
+        ArtifactSqlFilter filter = ArtifactSqlFilter.of(requestDto.getFilter());
+        boolean fromSummary = summaryEnabled && filter.conditions().isEmpty();
+
+        List<ArtifactStatsBucketDto> buckets = fromSummary
+                ? artifactStatsRepository.aggregateSummary(requestDto.getGroupBy(), requestDto.getYearBucketSize())
+                : artifactStatsRepository.aggregate(requestDto.getGroupBy(), requestDto.getYearBucketSize(), filter);
+
+        return ArtifactStatsResponseDto.builder()
+                .groupBy(requestDto.getGroupBy())
+                .buckets(buckets)
+                .fromSummary(fromSummary)
+                .summaryRefreshedAt(fromSummary ? summaryRefreshedAt : null)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${artifact.stats.summary.refresh-interval:5m}")
+    public void refreshSummary() {
+        if (!summaryEnabled) return;
+
+        long started = System.nanoTime();
+        artifactStatsRepository.refreshSummary();
+        summaryRefreshedAt = Instant.now();
+        log.debug("Refreshed artifact stats summary in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -1,66 +1,82 @@
 package com.profitsoft.lotrartifactsrest.service;
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.util.Objects;
+import java.util.List;
+import java.util.Locale;
 import java.util.function.Consumer;
 
+/**
+ * Entry point for artifact uploads: picks the streaming parser for the upload format,
+ * a JSON array ({@code application/json}) or NDJSON ({@code application/x-ndjson}).
+ * Compressed payloads are unwrapped by the caller through {@link PayloadCompression}.
+ */
 @Component
 public class ArtifactUploadParser {
 
-    private final JsonFactory jsonFactory = new JsonFactory();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    public ImportResult parse(MultipartFile file, Consumer<ArtifactSaveDto> onArtifact) {
-        validateFile(file);
-
-        long importedCount = 0;
-        long failedCount = 0;
+    private static final List<MediaType> COMPRESSED_TYPES = List.of(
+            MediaType.parseMediaType("application/gzip"),
+            MediaType.parseMediaType("application/x-gzip"),
+            MediaType.parseMediaType("application/zstd"));
 
-        try (InputStream inputStream = file.getInputStream();
-             JsonParser parser = jsonFactory.createParser(inputStream)) {
+    private final ArtifactRecordParser jsonArrayParser;
+    private final ArtifactRecordParser ndjsonParser;
 
-            if (parser.nextToken() != JsonToken.START_ARRAY) {
-                throw new IllegalArgumentException("JSON must start with an array of artifact objects");
-            }
-
-            while (parser.nextToken() == JsonToken.START_OBJECT) {
-                try {
-                    JsonNode node = objectMapper.readTree(parser);
-                    ArtifactSaveDto dto = objectMapper.treeToValue(node, ArtifactSaveDto.class);
-                    onArtifact.accept(dto);
-                    importedCount++;
-                } catch (Exception ex) {
-                    failedCount++;
-                }
-            }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Failed to process the uploaded file", e);
-        }
+    public ArtifactUploadParser(ObjectMapper objectMapper) {
+        ObjectReader artifactReader = objectMapper.readerFor(ArtifactSaveDto.class);
+        this.jsonArrayParser = new JsonArrayArtifactParser(objectMapper, artifactReader);
+        this.ndjsonParser = new NdjsonArtifactParser(artifactReader);
+    }
 
-        return new ImportResult(importedCount, failedCount);
+    /**
+     * Reads records of the given format one at a time and hands each to {@code onArtifact}.
+     * Records that cannot be bound, or that {@code onArtifact} rejects, are counted as failed.
+     * Stops early once {@code progress} is cancelled.
+     */
+    public void parse(InputStream inputStream, MediaType format,
+                      Consumer<ArtifactSaveDto> onArtifact, ArtifactImportProgress progress) {
+        parserFor(format).parse(inputStream, onArtifact, progress);
     }
 
-    private void validateFile(MultipartFile file) {
+    /**
+     * Validates an uploaded file and returns its record format. A part without content type is read as a JSON array;
+     * a compressed part ({@code application/gzip}, {@code application/zstd}) takes its format from the file name,
+     * e.g. {@code artifacts.ndjson.gz}.
+     */
+    public MediaType resolveFormat(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File must not be empty");
         }
 
         String contentType = file.getContentType();
-        if (Objects.nonNull(contentType) && !MediaType.APPLICATION_JSON_VALUE.equals(contentType)) {
-            throw new IllegalArgumentException("File must be of JSON type");
+        MediaType format = contentType == null ? MediaType.APPLICATION_JSON : MediaType.parseMediaType(contentType);
+        if (COMPRESSED_TYPES.stream().anyMatch(type -> type.isCompatibleWith(format))) {
+            return formatOfFileName(file.getOriginalFilename());
         }
+        parserFor(format);
+        return format;
     }
 
-    public record ImportResult(long imported, long failed) {}
-}
+    private static MediaType formatOfFileName(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return name.contains(".ndjson") || name.contains(".jsonl")
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
 
+    private ArtifactRecordParser parserFor(MediaType format) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(format)) {
+            return ndjsonParser;
+        }
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(format)) {
+            return jsonArrayParser;
+        }
+        throw new IllegalArgumentException("File must be of JSON or NDJSON type");
+    }
+}
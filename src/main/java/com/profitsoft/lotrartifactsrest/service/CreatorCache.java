@@ -0,0 +1,72 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.profitsoft.lotrartifactsrest.datasource.ReadYourWrites;
+import com.profitsoft.lotrartifactsrest.model.Creator;
+import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache of creators. Cached instances are detached and must be treated as read-only;
+ * every creator write has to call {@link #invalidate(Long)}, which {@link WriteTracker#creatorWritten(Long)} does.
+ */
+@Component
+public class CreatorCache {
+
+    private static final String ALL_CREATORS = "all";
+
+    private final CreatorRepository creatorRepository;
+    private final ReadYourWrites readYourWrites;
+    private final Cache<Long, Optional<Creator>> creatorsById;
+    private final Cache<String, List<Creator>> allCreators;
+
+    public CreatorCache(CreatorRepository creatorRepository,
+                        ReadYourWrites readYourWrites,
+                        @Value("${creator.cache.max-size:10000}") long maxSize,
+                        @Value("${creator.cache.ttl:10m}") Duration ttl) {
+        this.creatorRepository = creatorRepository;
+        this.readYourWrites = readYourWrites;
+        this.creatorsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.allCreators = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<Creator> findById(Long creatorId) {
+        return creatorsById.get(creatorId, id -> readYourWrites.readForCache(() -> creatorRepository.findById(id)));
+    }
+
+    public List<Creator> findAll() {
+        return allCreators.get(ALL_CREATORS, key -> readYourWrites.readForCache(() -> List.copyOf(creatorRepository.findAll())));
+    }
+
+    public void invalidate(Long creatorId) {
+        creatorsById.invalidate(creatorId);
+        allCreators.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        creatorsById.invalidateAll();
+        allCreators.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return creatorsById.stats();
+    }
+
+    public long size() {
+        return creatorsById.estimatedSize();
+    }
+}
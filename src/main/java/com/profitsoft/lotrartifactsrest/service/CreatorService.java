@@ -1,75 +1,150 @@
 package com.profitsoft.lotrartifactsrest.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.profitsoft.lotrartifactsrest.dto.CreatorCacheStatsDto;
 import com.profitsoft.lotrartifactsrest.dto.CreatorDetailsDto;
 import com.profitsoft.lotrartifactsrest.dto.CreatorSaveDto;
 import com.profitsoft.lotrartifactsrest.exception.ConflictException;
 import com.profitsoft.lotrartifactsrest.exception.NotFoundException;
 import com.profitsoft.lotrartifactsrest.model.Creator;
 import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import com.profitsoft.lotrartifactsrest.repository.CreatorStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(value = "creator.service", histogram = true)
 public class CreatorService {
-    private final CreatorRepository creatorRepository;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    public CreatorService(CreatorRepository creatorRepository) {
+    private final CreatorRepository creatorRepository;
+    private final CreatorStatsRepository creatorStatsRepository;
+    private final CreatorCache creatorCache;
+    private final WriteTracker writeTracker;
+
+    public CreatorService(CreatorRepository creatorRepository,
+                          CreatorStatsRepository creatorStatsRepository,
+                          CreatorCache creatorCache,
+                          WriteTracker writeTracker) {
         this.creatorRepository = creatorRepository;
+        this.creatorStatsRepository = creatorStatsRepository;
+        this.creatorCache = creatorCache;
+        this.writeTracker = writeTracker;
     }
 
     public List<CreatorDetailsDto> getAllCreators() {
-        List<Creator> data = creatorRepository.findAll();
+        List<Creator> data = creatorCache.findAll();
         return data.stream()
                 .map(CreatorService::convertToDetailsDto)
                 .toList();
     }
 
+    /**
+     * Lists creators ordered by id, seeking past {@code afterId} and reading one extra row to tell whether more follow.
+     * With {@code withStats}, artifact aggregates are joined in the same query. Without any argument the cached
+     * full list is returned.
+     */
+    @Transactional(readOnly = true)
+    public CreatorPage getCreators(Long afterId, Integer size, boolean withStats) {
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("Size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        if (afterId == null && size == null && !withStats) {
+            return new CreatorPage(getAllCreators(), null);
+        }
+
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        Integer limit = size == null ? null : size + 1;
+        List<CreatorDetailsDto> creators = withStats
+                ? creatorStatsRepository.findWithStats(after, limit)
+                : creatorRepository.findByIdGreaterThanOrderById(after, limit == null ? Limit.unlimited() : Limit.of(limit))
+                        .stream()
+                        .map(CreatorService::convertToDetailsDto)
+                        .toList();
+
+        if (size != null && creators.size() > size) {
+            List<CreatorDetailsDto> page = creators.subList(0, size);
+            return new CreatorPage(page, page.getLast().getId());
+        }
+        return new CreatorPage(creators, null);
+    }
+
     public CreatorDetailsDto saveCreator(CreatorSaveDto dto) {
-        validateNameUniqueness(dto.getName());
         Creator creator = convertToEntity(dto);
-        Creator savedCreator = creatorRepository.save(creator);
+        Creator savedCreator;
+        try {
+            savedCreator = creatorRepository.save(creator);
+        } catch (DataIntegrityViolationException ex) {
+            throw nameConflictOr(ex, dto.getName());
+        }
+        writeTracker.creatorWritten(savedCreator.getId());
         return convertToDetailsDto(savedCreator);
     }
 
     public CreatorDetailsDto getCreatorById(Long creatorId) {
-        Creator creator = creatorRepository.findById(creatorId)
-                .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(creatorId)));
+        Creator creator = creatorCache.findById(creatorId)
+                .orElseThrow(() -> notFound(creatorId));
         return convertToDetailsDto(creator);
     }
 
     public CreatorDetailsDto updateCreator(Long creatorId, CreatorSaveDto dto) {
-        Creator existingCreator = creatorRepository.findById(creatorId)
-                .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(creatorId)));
-
-        validateNameUniqueness(dto.getName(), creatorId);
-        existingCreator.setName(dto.getName());
-        existingCreator.setRace(dto.getRace());
-        existingCreator.setRealm(dto.getRealm());
-        Creator updatedCreator = creatorRepository.save(existingCreator);
+        // A missing creator matches no row, so it answers 404 even when its new name is taken
+        int updated;
+        try {
+            updated = creatorRepository.updateById(creatorId, dto.getName(), dto.getRace(), dto.getRealm());
+        } catch (DataIntegrityViolationException ex) {
+            throw nameConflictOr(ex, dto.getName());
+        }
+        if (updated == 0) {
+            throw notFound(creatorId);
+        }
+        writeTracker.creatorWritten(creatorId);
+
+        Creator updatedCreator = convertToEntity(dto);
+        updatedCreator.setId(creatorId);
         return convertToDetailsDto(updatedCreator);
     }
 
     public void deleteCreator(Long creatorId) {
-        creatorRepository.findById(creatorId)
-                .orElseThrow(() -> new NotFoundException("Creator with id '%s' not found".formatted(creatorId)));
-        creatorRepository.deleteById(creatorId);
+        if (creatorRepository.removeById(creatorId) == 0) {
+            throw notFound(creatorId);
+        }
+        writeTracker.creatorWritten(creatorId);
+    }
 
+    public CreatorCacheStatsDto getCacheStats() {
+        CacheStats stats = creatorCache.stats();
+        return CreatorCacheStatsDto.builder()
+                .size(creatorCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
     }
 
-    private void validateNameUniqueness(String name) {
-        if (creatorRepository.existsByNameIgnoreCase(name)) {
-            throw new ConflictException("Creator with name '%s' already exists".formatted(name));
+    // Uniqueness is left to the database index, which also holds under concurrent writes
+    private static RuntimeException nameConflictOr(DataIntegrityViolationException ex, String name) {
+        if (ex.getCause() instanceof ConstraintViolationException violation
+                && CreatorRepository.NAME_UNIQUE_INDEX.equalsIgnoreCase(violation.getConstraintName())) {
+            return new ConflictException("Creator with name '%s' already exists".formatted(name));
         }
+        return ex;
     }
 
-    private void validateNameUniqueness(String name, Long creatorId) {
-        if (creatorRepository.existsByNameIgnoreCaseAndIdIsNot(name, creatorId)) {
-            throw new ConflictException("Creator with name '%s' already exists".formatted(name));
-        }
+    private static NotFoundException notFound(Long creatorId) {
+        return new NotFoundException("Creator with id '%s' not found".formatted(creatorId));
     }
 
 
+    public record CreatorPage(List<CreatorDetailsDto> creators, Long nextAfterId) {}
+
     private static CreatorDetailsDto convertToDetailsDto(Creator data) {
         return CreatorDetailsDto.builder()
                 .id(data.getId())
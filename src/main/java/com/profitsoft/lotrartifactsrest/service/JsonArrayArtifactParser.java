@@ -0,0 +1,56 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Parses a JSON array of artifacts, binding each element straight from the token stream.
+ */
+class JsonArrayArtifactParser implements ArtifactRecordParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader artifactReader;
+
+    JsonArrayArtifactParser(ObjectMapper objectMapper, ObjectReader artifactReader) {
+        this.objectMapper = objectMapper;
+        this.artifactReader = artifactReader;
+    }
+
+    @Override
+    public void parse(InputStream inputStream, Consumer<ArtifactSaveDto> onArtifact, ArtifactImportProgress progress) {
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON must start with an array of artifact objects");
+            }
+            parser.clearCurrentToken();
+
+            try (MappingIterator<ArtifactSaveDto> artifacts = artifactReader.readValues(parser)) {
+                while (!progress.isCancelled() && artifacts.hasNextValue()) {
+                    progress.recordParsed();
+
+                    ArtifactSaveDto dto;
+                    try {
+                        dto = artifacts.nextValue();
+                    } catch (DatabindException ex) {
+                        // The iterator skips the rest of the bad element before reading the next one
+                        progress.recordFailed(1);
+                        continue;
+                    }
+                    ArtifactRecordParser.deliver(dto, onArtifact, progress);
+                }
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Failed to process the uploaded file", e);
+        }
+    }
+}
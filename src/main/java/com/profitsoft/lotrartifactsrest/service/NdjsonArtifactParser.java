@@ -0,0 +1,49 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Parses newline-delimited JSON, one artifact object per line. Each line is bound as soon as it
+ * arrives, so a producer can pipe records in continuously; a malformed line fails only itself.
+ */
+class NdjsonArtifactParser implements ArtifactRecordParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectReader artifactReader;
+
+    NdjsonArtifactParser(ObjectReader artifactReader) {
+        this.artifactReader = artifactReader;
+    }
+
+    @Override
+    public void parse(InputStream inputStream, Consumer<ArtifactSaveDto> onArtifact, ArtifactImportProgress progress) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            while (!progress.isCancelled() && (line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                progress.recordParsed();
+
+                ArtifactSaveDto dto;
+                try {
+                    dto = artifactReader.readValue(line);
+                } catch (JacksonException ex) {
+                    progress.recordFailed(1);
+                    continue;
+                }
+                ArtifactRecordParser.deliver(dto, onArtifact, progress);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to process the uploaded file", e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming gzip and zstd codecs for uploads and reports. Payloads are inflated and deflated
+ * block by block, never held in memory or on disk in their uncompressed form.
+ */
+public final class PayloadCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String ZSTD = "zstd";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Import and report hosts are I/O bound, so trade some CPU for a smaller zstd payload
+    private static final int ZSTD_LEVEL = 9;
+
+    private static final byte[] GZIP_MAGIC = {(byte) 0x1f, (byte) 0x8b};
+    private static final byte[] ZSTD_MAGIC = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+
+    private PayloadCompression() {
+    }
+
+    /**
+     * Wraps {@code inputStream} in a decompressor chosen by the declared {@code contentEncoding},
+     * or, when none is declared, by the magic bytes at the start of the stream.
+     */
+    public static InputStream decompress(InputStream inputStream, String contentEncoding) throws IOException {
+        String coding = contentEncoding == null ? "identity" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return switch (coding) {
+            case GZIP, "x-gzip" -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+            case "identity", "" -> sniff(inputStream);
+            default -> throw new IllegalArgumentException("Unsupported content encoding '%s'".formatted(contentEncoding));
+        };
+    }
+
+    /**
+     * Picks the preferred supported coding from an {@code Accept-Encoding} header, or {@code null} for identity.
+     * zstd wins over gzip when both are equally acceptable.
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) return null;
+
+        Double zstd = null;
+        Double gzip = null;
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(tokens);
+            switch (coding) {
+                case ZSTD -> zstd = quality;
+                case GZIP, "x-gzip" -> gzip = quality;
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        double zstdQuality = zstd != null ? zstd : wildcard;
+        double gzipQuality = gzip != null ? gzip : wildcard;
+
+        if (zstdQuality > 0 && zstdQuality >= gzipQuality) return ZSTD;
+        if (gzipQuality > 0) return GZIP;
+        return null;
+    }
+
+    /**
+     * Wraps {@code outputStream} in a compressor for {@code coding}; every flush emits the data written so far,
+     * so streamed responses keep reaching the client. Closing the returned stream finishes the frame and releases
+     * the compressor, but leaves {@code outputStream} open.
+     */
+    public static CompressedOutputStream compress(OutputStream outputStream, String coding) throws IOException {
+        Target target = new Target(outputStream);
+        OutputStream compressor = switch (coding) {
+            case GZIP -> new GZIPOutputStream(target, BUFFER_SIZE, true);
+            case ZSTD -> new ZstdOutputStream(target, ZSTD_LEVEL);
+            default -> throw new IllegalArgumentException("Unsupported content encoding '%s'".formatted(coding));
+        };
+        return new CompressedOutputStream(compressor, target);
+    }
+
+    private static InputStream sniff(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        buffered.mark(ZSTD_MAGIC.length);
+        byte[] head = buffered.readNBytes(ZSTD_MAGIC.length);
+        buffered.reset();
+
+        if (startsWith(head, ZSTD_MAGIC)) return new ZstdInputStream(buffered);
+        if (startsWith(head, GZIP_MAGIC)) return new GZIPInputStream(buffered, BUFFER_SIZE);
+        return buffered;
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        if (head.length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if (head[i] != magic[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compressing stream over a response that it never closes. {@link #abandon()} releases the compressor
+     * without writing the end of the frame, so a failed response is not mistaken for a complete one.
+     */
+    public static final class CompressedOutputStream extends FilterOutputStream {
+
+        private final Target target;
+
+        private CompressedOutputStream(OutputStream compressor, Target target) {
+            super(compressor);
+            this.target = target;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        public void abandon() throws IOException {
+            target.discarding = true;
+            close();
+        }
+    }
+
+    // Keeps the response open when the compressor is closed, and drops its trailer once abandoned
+    private static final class Target extends FilterOutputStream {
+
+        private boolean discarding;
+
+        private Target(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!discarding) out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!discarding) out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarding) out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.profitsoft.lotrartifactsrest.service;
+
+import com.profitsoft.lotrartifactsrest.datasource.ReadYourWrites;
+import org.springframework.stereotype.Component;
+
+/**
+ * Post-write hook shared by the services. Every committed artifact or creator write goes through it, so cached
+ * pages and ETags are retired and later reads are kept off lagging replicas in one place.
+ */
+@Component
+public class WriteTracker {
+
+    private final CreatorCache creatorCache;
+    private final ArtifactResponseCache artifactResponseCache;
+    private final ReadYourWrites readYourWrites;
+
+    public WriteTracker(CreatorCache creatorCache,
+                        ArtifactResponseCache artifactResponseCache,
+                        ReadYourWrites readYourWrites) {
+        this.creatorCache = creatorCache;
+        this.artifactResponseCache = artifactResponseCache;
+        this.readYourWrites = readYourWrites;
+    }
+
+    public void artifactsWritten() {
+        artifactResponseCache.invalidate();
+        readYourWrites.recordWrite();
+    }
+
+    // Artifact responses embed their creator, so they are retired too
+    public void creatorWritten(Long creatorId) {
+        creatorCache.invalidate(creatorId);
+        artifactsWritten();
+    }
+}
@@ -1,32 +1,64 @@
 package com.profitsoft.lotrartifactsrest;
 
+import com.profitsoft.lotrartifactsrest.dto.ArtifactBulkDeleteRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactBulkUpdateRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactCountMode;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactFilterDto;
 import com.profitsoft.lotrartifactsrest.dto.ArtifactListRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListResponseDto;
 import com.profitsoft.lotrartifactsrest.dto.ArtifactSaveDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSearchRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsGroupBy;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactStatsRequestDto;
 import com.profitsoft.lotrartifactsrest.model.Artifact;
 import com.profitsoft.lotrartifactsrest.model.Creator;
 import com.profitsoft.lotrartifactsrest.repository.ArtifactRepository;
 import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import com.profitsoft.lotrartifactsrest.service.ArtifactResponseCache;
+import com.profitsoft.lotrartifactsrest.service.ArtifactStatsService;
+import com.profitsoft.lotrartifactsrest.service.CreatorCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keeps scheduled summary refreshes out of the statement budgets
+        "artifact.stats.summary.refresh-interval=1d"})
 @AutoConfigureMockMvc
-@Import(TestcontainersConfiguration.class)
+@Import({TestcontainersConfiguration.class, StatementCountingConfiguration.class})
+@ExtendWith(StatementBudgetExtension.class)
 class ArtifactControllerIntegrationTest {
 
     @Autowired
@@ -41,15 +73,32 @@ class ArtifactControllerIntegrationTest {
     @Autowired
     private CreatorRepository creatorRepository;
 
+    @Autowired
+    private CreatorCache creatorCache;
+
+    @Autowired
+    private ArtifactResponseCache artifactResponseCache;
+
+    @Autowired
+    private ArtifactStatsService artifactStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
 
     @BeforeEach
     void setUp() {
         artifactRepository.deleteAll();
         creatorRepository.deleteAll();
+        creatorCache.invalidateAll();
+        artifactResponseCache.invalidate();
     }
 
     @Test
+    @StatementBudget(4)
     void shouldCreateArtifact() throws Exception {
         Creator creator = createCreator("Sauron", "Maia", "Mordor");
         ArtifactSaveDto request = ArtifactSaveDto.builder()
@@ -71,6 +120,7 @@ class ArtifactControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(2)
     void shouldGetArtifactById() throws Exception {
         Creator creator = createCreator("Frodo", "Hobbit", "Shire");
         Artifact artifact = createArtifact("Sting", creator, "Shire", "sword", 2968, 1200);
@@ -83,6 +133,24 @@ class ArtifactControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(2)
+    void shouldReturnNotModifiedForMatchingArtifactEtag() throws Exception {
+        Creator creator = createCreator("Frodo", "Hobbit", "Shire");
+        Artifact artifact = createArtifact("Sting", creator, "Shire", "sword", 2968, 1200);
+
+        String etag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @StatementBudget(3)
     void shouldUpdateArtifact() throws Exception {
         Creator creator = createCreator("Feanor", "Elf", "Valinor");
         Artifact artifact = createArtifact("Silmaril", creator, "Valinor", "jewel", 1450, 9000);
@@ -103,10 +171,13 @@ class ArtifactControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is("Silmaril of Earendil")))
                 .andExpect(jsonPath("$.creator.name", is("Aule")))
-                .andExpect(jsonPath("$.powerLevel", is(9500)));
+                .andExpect(jsonPath("$.powerLevel", is(9500)))
+                .andExpect(jsonPath("$.version", is(1)))
+                .andExpect(header().string("ETag", startsWith("\"1.")));
     }
 
     @Test
+    @StatementBudget(2)
     void shouldDeleteArtifact() throws Exception {
         Creator creator = createCreator("Sauron", "Maia", "Mordor");
         Artifact artifact = createArtifact("Morgul Blade", creator, "Mordor", "dagger", 3420, 7000);
@@ -119,6 +190,182 @@ class ArtifactControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(3)
+    void shouldReturnNotFoundForMissingArtifactOnWrite() throws Exception {
+        Creator creator = createCreator("Sauron", "Maia", "Mordor");
+        ArtifactSaveDto updateRequest = ArtifactSaveDto.builder()
+                .name("Morgul Blade")
+                .creatorId(creator.getId())
+                .build();
+
+        mockMvc.perform(put("/api/artifact/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/artifact/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @StatementBudget(5)
+    void shouldPatchOnlyGivenFieldsWhenEtagMatches() throws Exception {
+        Creator creator = createCreator("Gandalf", "Maia", "Valinor");
+        Artifact artifact = createArtifact("Narya", creator, "Eregion", "ring,fire", 1600, 8000);
+
+        String etag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(0)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"powerLevel\": 8500}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.name", is("Narya")))
+                .andExpect(jsonPath("$.origin", is("Eregion")))
+                .andExpect(jsonPath("$.creator.name", is("Gandalf")))
+                .andExpect(jsonPath("$.powerLevel", is(8500)))
+                .andExpect(jsonPath("$.version", is(1)));
+
+        mockMvc.perform(patch("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"powerLevel\": 9000}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(8500, artifactRepository.findById(artifact.getId()).orElseThrow().getPowerLevel());
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectEmptyPatch() throws Exception {
+        mockMvc.perform(patch("/api/artifact/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @StatementBudget(7)
+    void shouldRejectStaleIfMatchOnPutAndDelete() throws Exception {
+        Creator creator = createCreator("Feanor", "Elf", "Valinor");
+        Artifact artifact = createArtifact("Silmaril", creator, "Valinor", "jewel", 1450, 9000);
+        ArtifactSaveDto updateRequest = ArtifactSaveDto.builder()
+                .name("Silmaril of Earendil")
+                .creatorId(creator.getId())
+                .powerLevel(9500)
+                .build();
+
+        String staleEtag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String currentEtag = mockMvc.perform(put("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", staleEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", staleEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", staleEtag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", currentEtag))
+                .andExpect(status().isNoContent());
+
+        assertTrue(artifactRepository.findById(artifact.getId()).isEmpty());
+    }
+
+    @Test
+    @StatementBudget(6)
+    void shouldReturnNotModifiedForEtagOfPut() throws Exception {
+        Creator creator = createCreator("Feanor", "Elf", "Valinor");
+        Artifact artifact = createArtifact("Silmaril", creator, "Valinor", "jewel", 1450, 9000);
+        ArtifactSaveDto updateRequest = ArtifactSaveDto.builder()
+                .name("Silmaril of Earendil")
+                .creatorId(creator.getId())
+                .powerLevel(9500)
+                .build();
+
+        String etag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Built from the request when If-Match pins one version
+        String pinnedEtag = mockMvc.perform(put("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header("If-None-Match", pinnedEtag))
+                .andExpect(status().isNotModified());
+
+        // Read back when the new version is not known from the request
+        String readBackEtag = mockMvc.perform(put("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header("If-None-Match", readBackEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @StatementBudget(7)
+    void shouldHonorIfMatchWildcardAndTagLists() throws Exception {
+        Creator creator = createCreator("Feanor", "Elf", "Valinor");
+        Artifact artifact = createArtifact("Silmaril", creator, "Valinor", "jewel", 1450, 9000);
+        ArtifactSaveDto updateRequest = ArtifactSaveDto.builder()
+                .name("Silmaril of Earendil")
+                .creatorId(creator.getId())
+                .powerLevel(9500)
+                .build();
+
+        mockMvc.perform(put("/api/artifact/{id}", Long.MAX_VALUE)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        String etag = mockMvc.perform(put("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // A list matches when the row is at the version of any tag in it; foreign tags are ignored
+        mockMvc.perform(patch("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", "W/\"weak\", \"0.stale\", " + etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"powerLevel\": 9700}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(2)));
+
+        mockMvc.perform(delete("/api/artifact/{id}", artifact.getId())
+                        .header("If-Match", "\"0.stale\", " + etag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @StatementBudget(2)
     void shouldListArtifactsWithPagination() throws Exception {
         Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
         createArtifact("Ring of Fire", creator, "Eregion", "ring", 1590, 8500);
@@ -139,6 +386,441 @@ class ArtifactControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(6)
+    void shouldServeCachedListUntilArtifactsChange() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", creator, "Eregion", "ring", 1590, 8500);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setCreatorId(creator.getId());
+        String body = objectMapper.writeValueAsString(request);
+
+        String etag = mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list", hasSize(1)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", etag)
+                        .content(body))
+                .andExpect(status().isNotModified());
+
+        ArtifactSaveDto newArtifact = ArtifactSaveDto.builder()
+                .name("Nenya")
+                .creatorId(creator.getId())
+                .build();
+        mockMvc.perform(post("/api/artifact")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newArtifact)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", etag)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.list", hasSize(2)));
+    }
+
+    @Test
+    @StatementBudget(2)
+    void shouldFilterArtifactsByTags() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", creator, "Eregion", "ring,Elven, fire", 1600, 8000);
+        createArtifact("Nenya", creator, "Eregion", "ring,elven,water", 1600, 8200);
+        createArtifact("Angrist", creator, "Nogrod", "knife", 1600, 3000);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setTagsAny(List.of("FIRE", "knife"));
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Narya", "Angrist")));
+
+        request.setTagsAny(null);
+        request.setTagsAll(List.of("ring", "elven"));
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Narya", "Nenya")))
+                .andExpect(jsonPath("$.list[0].tags", is("ring,Elven, fire")));
+    }
+
+    @Test
+    @StatementBudget(6)
+    void shouldSearchArtifactsByRelevance() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Palantir", creator, "Numenor", "rings,stone", 3000, 6000);
+        createArtifact("Phial", creator, "Ring Mountains", "light", 3000, 2000);
+        createArtifact("Narya Ring", creator, "Eregion", "fire", 1600, 8000);
+        createArtifact("Sting", creator, "Gondolin", "blade", 1000, 4000);
+
+        ArtifactSearchRequestDto request = new ArtifactSearchRequestDto();
+        request.setQuery("ring");
+        request.setSize(2);
+
+        mockMvc.perform(post("/api/artifact/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Narya Ring", "Phial")))
+                .andExpect(jsonPath("$.list[0].creator.name", is("Celebrimbor")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalPages", nullValue()));
+
+        request.setPage(1);
+        mockMvc.perform(post("/api/artifact/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Palantir")))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        request.setPage(0);
+        request.setPowerFrom(5000);
+        request.setTagsAny(List.of("stone", "fire"));
+        mockMvc.perform(post("/api/artifact/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Narya Ring", "Palantir")));
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectBlankSearchQuery() throws Exception {
+        mockMvc.perform(post("/api/artifact/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\": \" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @StatementBudget(2)
+    void shouldAggregateFilteredArtifactsByCreator() throws Exception {
+        Creator celebrimbor = createCreator("Celebrimbor", "Elf", "Eregion");
+        Creator sauron = createCreator("Sauron", "Maia", "Mordor");
+        createArtifact("Narya", celebrimbor, "Eregion", "ring", 1600, 8000);
+        createArtifact("Nenya", celebrimbor, "Eregion", "ring", 1600, 8200);
+        createArtifact("One Ring", sauron, "Mordor", "ring", 1600, 10000);
+        createArtifact("Morgul-blade", sauron, "Minas Morgul", "blade", 3018, 3000);
+
+        ArtifactStatsRequestDto request = new ArtifactStatsRequestDto();
+        request.setGroupBy(ArtifactStatsGroupBy.CREATOR);
+        request.getFilter().setTagsAny(List.of("ring"));
+
+        mockMvc.perform(post("/api/artifact/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromSummary", is(false)))
+                .andExpect(jsonPath("$.buckets[*].creatorName", contains("Celebrimbor", "Sauron")))
+                .andExpect(jsonPath("$.buckets[0].count", is(2)))
+                .andExpect(jsonPath("$.buckets[0].minPowerLevel", is(8000)))
+                .andExpect(jsonPath("$.buckets[0].maxPowerLevel", is(8200)))
+                .andExpect(jsonPath("$.buckets[0].avgPowerLevel", is(8100.0)))
+                .andExpect(jsonPath("$.buckets[1].count", is(1)));
+
+        request.getFilter().setTagsAny(null);
+        request.getFilter().setCreatorId(sauron.getId());
+        request.setGroupBy(ArtifactStatsGroupBy.YEAR);
+        request.setYearBucketSize(1000);
+
+        mockMvc.perform(post("/api/artifact/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets[*].yearFrom", contains(1000, 3000)))
+                .andExpect(jsonPath("$.buckets[*].yearTo", contains(1999, 3999)))
+                .andExpect(jsonPath("$.buckets[*].count", contains(1, 1)));
+    }
+
+    @Test
+    @StatementBudget(2)
+    void shouldAnswerUnfilteredStatsFromSummary() throws Exception {
+        Creator celebrimbor = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", celebrimbor, "Eregion", "ring", 1600, 8000);
+        createArtifact("Nenya", celebrimbor, "Eregion", "ring", 1600, 8200);
+        createArtifact("Angrist", celebrimbor, "Nogrod", "knife", 1500, 3000);
+        artifactStatsService.refreshSummary();
+
+        ArtifactStatsRequestDto request = new ArtifactStatsRequestDto();
+        request.setGroupBy(ArtifactStatsGroupBy.ORIGIN);
+
+        mockMvc.perform(post("/api/artifact/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromSummary", is(true)))
+                .andExpect(jsonPath("$.summaryRefreshedAt", notNullValue()))
+                .andExpect(jsonPath("$.buckets[*].origin", contains("Eregion", "Nogrod")))
+                .andExpect(jsonPath("$.buckets[0].count", is(2)))
+                .andExpect(jsonPath("$.buckets[0].avgPowerLevel", is(8100.0)));
+
+        request.setGroupBy(ArtifactStatsGroupBy.YEAR);
+        request.setYearBucketSize(200);
+
+        mockMvc.perform(post("/api/artifact/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets[*].yearFrom", contains(1400, 1600)))
+                .andExpect(jsonPath("$.buckets[*].count", contains(1, 2)))
+                .andExpect(jsonPath("$.buckets[1].maxPowerLevel", is(8200)));
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectStatsRequestWithoutGrouping() throws Exception {
+        mockMvc.perform(post("/api/artifact/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @StatementBudget(7)
+    void shouldBulkUpdateArtifactsMatchingFilter() throws Exception {
+        Creator celebrimbor = createCreator("Celebrimbor", "Elf", "Eregion");
+        Creator sauron = createCreator("Sauron", "Maia", "Mordor");
+        Artifact narya = createArtifact("Narya", celebrimbor, "Eregion", "ring,fire", 1600, 8000);
+        Artifact nenya = createArtifact("Nenya", celebrimbor, "Eregion", "ring,water", 1600, 8200);
+        Artifact angrist = createArtifact("Angrist", celebrimbor, "Nogrod", "knife", 1600, 3000);
+
+        ArtifactFilterDto filter = new ArtifactFilterDto();
+        filter.setTagsAny(List.of("ring"));
+        ArtifactBulkUpdateRequestDto request = new ArtifactBulkUpdateRequestDto();
+        request.setFilter(filter);
+        request.setCreatorId(sauron.getId());
+        request.setPowerLevel(9500);
+        request.setDryRun(true);
+
+        mockMvc.perform(post("/api/artifact/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)))
+                .andExpect(jsonPath("$.dryRun", is(true)));
+        assertEquals(8000, artifactRepository.findById(narya.getId()).orElseThrow().getPowerLevel());
+
+        request.setDryRun(false);
+        mockMvc.perform(post("/api/artifact/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)))
+                .andExpect(jsonPath("$.dryRun", is(false)));
+
+        mockMvc.perform(get("/api/artifact/{id}", nenya.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.powerLevel", is(9500)))
+                .andExpect(jsonPath("$.origin", is("Eregion")))
+                .andExpect(jsonPath("$.creator.name", is("Sauron")))
+                .andExpect(jsonPath("$.version", is(1)));
+        mockMvc.perform(get("/api/artifact/{id}", angrist.getId()))
+                .andExpect(jsonPath("$.powerLevel", is(3000)))
+                .andExpect(jsonPath("$.version", is(0)))
+                .andExpect(jsonPath("$.creator.name", is("Celebrimbor")));
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectBulkUpdateWithoutFilterOrFields() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", creator, "Eregion", "ring", 1600, 8000);
+
+        ArtifactBulkUpdateRequestDto request = new ArtifactBulkUpdateRequestDto();
+        request.setFilter(new ArtifactFilterDto());
+        request.setOrigin("Mordor");
+
+        mockMvc.perform(post("/api/artifact/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        request.getFilter().setCreatorId(creator.getId());
+        request.setOrigin(null);
+
+        mockMvc.perform(post("/api/artifact/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        assertEquals("Eregion", artifactRepository.findAll().getFirst().getOrigin());
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldBulkDeleteArtifactsMatchingFilter() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", creator, "Eregion", "ring", 1600, 8000);
+        createArtifact("Nenya", creator, "Eregion", "ring", 1600, 8200);
+        createArtifact("Angrist", creator, "Nogrod", "knife", 1600, 3000);
+
+        ArtifactFilterDto filter = new ArtifactFilterDto();
+        filter.setPowerFrom(5000);
+        ArtifactBulkDeleteRequestDto request = new ArtifactBulkDeleteRequestDto();
+        request.setFilter(filter);
+        request.setDryRun(true);
+
+        mockMvc.perform(post("/api/artifact/_bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)));
+        assertEquals(3, artifactRepository.count());
+
+        ArtifactListRequestDto listRequest = new ArtifactListRequestDto();
+        String etag = mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(listRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        request.setDryRun(false);
+        mockMvc.perform(post("/api/artifact/_bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)))
+                .andExpect(jsonPath("$.dryRun", is(false)));
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(listRequest))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Angrist")));
+    }
+
+    @Test
+    @StatementBudget(1)
+    void shouldListArtifactsWithoutTotalCount() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Ring of Fire", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Ring of Water", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Ring of Air", creator, "Eregion", "ring", 1590, 8500);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setCreatorId(creator.getId());
+        request.setSize(2);
+        request.setCountMode(ArtifactCountMode.NONE);
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list", hasSize(2)))
+                .andExpect(jsonPath("$.totalPages", nullValue()))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
+    @Test
+    @StatementBudget(2)
+    void shouldListArtifactsWithEstimatedTotal() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Ring of Fire", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Ring of Water", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Ring of Air", creator, "Eregion", "ring", 1590, 8500);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setOrigin("eregion");
+        request.setSize(2);
+        request.setCountMode(ArtifactCountMode.ESTIMATED);
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list", hasSize(2)))
+                .andExpect(jsonPath("$.totalPages", greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.totalEstimated", is(true)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldListArtifactsWithCursor() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        createArtifact("Narya", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Nenya", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Vilya", creator, "Eregion", "ring", 1590, 8500);
+        createArtifact("Brooch", creator, "Eregion", "jewel", 1500, 100);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setCreatorId(creator.getId());
+        request.setPowerFrom(1000);
+        request.setSize(2);
+
+        MvcResult firstPage = mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Narya", "Nenya")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+
+        request.setCursor(objectMapper.readValue(firstPage.getResponse().getContentAsString(),
+                ArtifactListResponseDto.class).getNextCursor());
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[*].name", contains("Vilya")))
+                .andExpect(jsonPath("$.totalPages", is(2)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectMalformedCursor() throws Exception {
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setCursor("not a cursor");
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @StatementBudget(2)
+    void shouldLoadPageWithCreatorsWithoutExtraStatements() throws Exception {
+        Creator sauron = createCreator("Sauron", "Maia", "Mordor");
+        Creator celebrimbor = createCreator("Celebrimbor", "Elf", "Eregion");
+        Creator feanor = createCreator("Feanor", "Elf", "Valinor");
+        createArtifact("One Ring", sauron, "Mordor", "ring", 1600, 10000);
+        createArtifact("Narya", celebrimbor, "Eregion", "ring", 1590, 8500);
+        createArtifact("Silmaril", feanor, "Valinor", "jewel", 1450, 9000);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setPage(0);
+        request.setSize(2);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/artifact/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list", hasSize(2)))
+                .andExpect(jsonPath("$.list[*].creator.name", everyItem(notNullValue())));
+
+        // one page query with creators joined plus one count query
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @StatementBudget(1)
     void shouldGenerateReport() throws Exception {
         Creator creator = createCreator("Gandalf", "Maia", "Middle-earth");
         createArtifact("Glamdring", creator, "Gondolin", "sword", 1000, 4000);
@@ -147,9 +829,13 @@ class ArtifactControllerIntegrationTest {
         request.setPage(0);
         request.setSize(10);
 
-        mockMvc.perform(post("/api/artifact/_report")
+        MvcResult result = mockMvc.perform(post("/api/artifact/_report")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Disposition", containsString("artifacts-report.csv")))
                 .andExpect(content().contentTypeCompatibleWith("text/csv"))
@@ -157,6 +843,68 @@ class ArtifactControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(1)
+    void shouldGenerateGzipCompressedReport() throws Exception {
+        Creator creator = createCreator("Gandalf", "Maia", "Middle-earth");
+        createArtifact("Glamdring", creator, "Gondolin", "sword", 1000, 4000);
+
+        ArtifactListRequestDto request = new ArtifactListRequestDto();
+        request.setPage(0);
+        request.setSize(10);
+
+        MvcResult result = mockMvc.perform(post("/api/artifact/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Accept-Encoding", "gzip")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult report = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] csv = new GZIPInputStream(new ByteArrayInputStream(report.getResponse().getContentAsByteArray())).readAllBytes();
+        assertTrue(new String(csv, StandardCharsets.UTF_8).contains("Glamdring"));
+    }
+
+    @Test
+    @StatementBudget(7)
+    void shouldUploadCompressedArtifacts() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000}
+                {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                """.formatted(creator.getId());
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                "rings.ndjson.gz",
+                "application/gzip",
+                compressed.toByteArray()
+        );
+        mockMvc.perform(multipart("/api/artifact/upload")
+                        .file(multipartFile))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(0)));
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header("Content-Encoding", "gzip")
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+
+        assertEquals(4, artifactRepository.count());
+    }
+
+    @Test
+    @StatementBudget(7)
     void shouldUploadArtifacts() throws Exception {
         Creator sauron = createCreator("Sauron", "Maia", "Mordor");
         Creator feanor = createCreator("Feanor", "Elf", "Valinor");
@@ -178,6 +926,231 @@ class ArtifactControllerIntegrationTest {
                 .andExpect(jsonPath("$.failed", is(15)));
     }
 
+    @Test
+    @StatementBudget(4)
+    void shouldUploadArtifactsWithCopyMode() throws Exception {
+        Creator sauron = createCreator("Sauron", "Maia", "Mordor");
+        Creator feanor = createCreator("Feanor", "Elf", "Valinor");
+
+        String payload = Files.readString(Path.of("src/main/resources/artifacts-upload.json"))
+                .replace("\"creatorId\": 1", "\"creatorId\": " + sauron.getId())
+                .replace("\"creatorId\": 3", "\"creatorId\": " + feanor.getId());
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                "artifacts-upload.json",
+                MediaType.APPLICATION_JSON_VALUE,
+                payload.getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/artifact/upload")
+                        .file(multipartFile)
+                        .param("mode", "COPY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(15)))
+                .andExpect(jsonPath("$.failed", is(15)));
+
+        assertEquals(15, artifactRepository.count());
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldCountInvalidUploadRecordsAsFailed() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                [
+                  {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000},
+                  {"name": "Nenya", "creatorId": %1$d, "powerLevel": 20000},
+                  {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                ]
+                """.formatted(creator.getId());
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                "rings.json",
+                MediaType.APPLICATION_JSON_VALUE,
+                payload.getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/artifact/upload")
+                        .file(multipartFile))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)));
+    }
+
+    @Test
+    @StatementBudget(8)
+    void shouldRetryRejectedChunkRowByRow() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        Creator removed = createCreator("Annatar", "Maia", "Eregion");
+        // Cached, but gone from the database, so its rows pass lookup and fail on the foreign key
+        creatorCache.findById(removed.getId());
+        creatorRepository.deleteById(removed.getId());
+
+        String payload = """
+                [
+                  {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000},
+                  {"name": "Ring of Lies", "creatorId": %2$d, "powerLevel": 9000},
+                  {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                ]
+                """.formatted(creator.getId(), removed.getId());
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)));
+
+        assertEquals(2, artifactRepository.count());
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldUploadArtifactsFromJsonBody() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                [
+                  {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000},
+                  {"name": "Nenya", "creatorId": %1$d, "powerLevel": 20000},
+                  {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                ]
+                """.formatted(creator.getId());
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)));
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldUploadArtifactsFromNdjsonBody() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000}
+                {"name": "Nenya", "creatorId": %1$d, "powerLevel": "strong"
+
+                {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                """.formatted(creator.getId());
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .param("mode", "COPY")
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)));
+
+        assertEquals(2, artifactRepository.count());
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldAllocateCopyIdsInSequenceBlocks() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = IntStream.range(0, 120)
+                .mapToObj(i -> "{\"name\": \"Ring %d\", \"creatorId\": %d, \"powerLevel\": 100}".formatted(i, creator.getId()))
+                .collect(Collectors.joining("\n"));
+        long sequenceBefore = sequenceValue();
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .param("mode", "COPY")
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(120)))
+                .andExpect(jsonPath("$.failed", is(0)));
+
+        // 120 rows take three blocks of 50, plus one more when the sequence had never been called
+        long sequenceAfter = sequenceValue();
+        assertTrue(sequenceAfter - sequenceBefore <= 200, () -> "Sequence advanced by " + (sequenceAfter - sequenceBefore));
+        List<Long> ids = artifactRepository.findAll().stream().map(Artifact::getId).sorted().toList();
+        assertEquals(120, ids.stream().distinct().count());
+        assertTrue(ids.getFirst() > sequenceBefore && ids.getLast() <= sequenceAfter, () -> "Ids out of allocated range " + ids);
+
+        Artifact created = createArtifact("Narya", creator, "Eregion", "ring", 1600, 8000);
+        assertFalse(ids.contains(created.getId()));
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldExposeServiceAndImportMetrics() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000}
+                """.formatted(creator.getId());
+
+        mockMvc.perform(post("/api/artifact/upload")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("artifact_import_records_total")))
+                .andExpect(content().string(containsString("artifact_service_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    @StatementBudget(4)
+    void shouldRunUploadAsBackgroundJob() throws Exception {
+        Creator creator = createCreator("Celebrimbor", "Elf", "Eregion");
+        String payload = """
+                [
+                  {"name": "Narya", "creatorId": %1$d, "powerLevel": 8000},
+                  {"name": "Nenya", "creatorId": %1$d, "powerLevel": 20000},
+                  {"name": "Vilya", "creatorId": %1$d, "powerLevel": 8500}
+                ]
+                """.formatted(creator.getId());
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                "rings.json",
+                MediaType.APPLICATION_JSON_VALUE,
+                payload.getBytes()
+        );
+
+        MvcResult submitted = mockMvc.perform(multipart("/api/artifact/upload/jobs")
+                        .file(multipartFile))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andReturn();
+        String jobId = objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asString();
+
+        String jobStatus = null;
+        for (int attempt = 0; attempt < 100 && !"COMPLETED".equals(jobStatus); attempt++) {
+            Thread.sleep(100);
+            MvcResult polled = mockMvc.perform(get("/api/artifact/upload/jobs/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            jobStatus = objectMapper.readTree(polled.getResponse().getContentAsString()).get("status").asString();
+        }
+
+        assertEquals("COMPLETED", jobStatus);
+        mockMvc.perform(get("/api/artifact/upload/jobs/{jobId}", jobId))
+                .andExpect(jsonPath("$.parsed", is(3)))
+                .andExpect(jsonPath("$.result.imported", is(2)))
+                .andExpect(jsonPath("$.result.failed", is(1)));
+        assertEquals(2, artifactRepository.count());
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldReturnNotFoundForUnknownImportJob() throws Exception {
+        mockMvc.perform(get("/api/artifact/upload/jobs/{jobId}", "missing"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/artifact/upload/jobs/{jobId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM artifact_id_seq", Long.class);
+    }
+
     private Creator createCreator(String name, String race, String realm) {
         Creator creator = new Creator();
         creator.setName(name);
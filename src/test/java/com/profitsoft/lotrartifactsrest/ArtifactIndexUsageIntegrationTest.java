@@ -0,0 +1,188 @@
+package com.profitsoft.lotrartifactsrest;
+
+import com.profitsoft.lotrartifactsrest.dto.ArtifactCountMode;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListRequestDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactListResponseDto;
+import com.profitsoft.lotrartifactsrest.dto.ArtifactSearchRequestDto;
+import com.profitsoft.lotrartifactsrest.service.ArtifactService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a large artifact table and checks that every filter combination of
+ * {@code ArtifactService.buildSpecification} is answered through an index.
+ * The plans are taken of the statements the service really executes, page, count and keyset queries alike,
+ * so a change in the generated SQL is checked too. Filters mix narrow values with ranges matching ~1% of the rows.
+ * The unfiltered query is excluded, it is expected to read the whole table.
+ * Full-text searches must go through the {@code search_vector} GIN index.
+ */
+@SpringBootTest(properties = "artifact.stats.summary.refresh-interval=1d")
+@Import({TestcontainersConfiguration.class, QueryPlanConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArtifactIndexUsageIntegrationTest {
+
+    private static final int CREATORS = 200;
+    private static final int ARTIFACTS = 200_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArtifactService artifactService;
+
+    @Autowired
+    private QueryPlanRecorder queryPlanRecorder;
+
+    private Long creatorId;
+
+    @BeforeAll
+    void seedArtifacts() {
+        jdbcTemplate.update("""
+                INSERT INTO creator (name, race, realm)
+                SELECT 'Index creator ' || g, 'Elf', 'Eregion'
+                FROM generate_series(1, ?) g""", CREATORS);
+        jdbcTemplate.update("""
+                INSERT INTO artifact (name, creator_id, origin, tags, year_created, power_level)
+                SELECT 'Artifact ' || g, c.ids[1 + g % array_length(c.ids, 1)], 'Origin-' || (g % 500),
+                       'ring,Tag-' || (g % 1000) || ',Tag-' || (g % 997),
+                       (g * 7919) % 10001, (g * 104729) % 10001
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id ORDER BY id) AS ids FROM creator WHERE name LIKE 'Index creator %') c""",
+                ARTIFACTS);
+        jdbcTemplate.execute("ANALYZE artifact");
+        jdbcTemplate.execute("ANALYZE creator");
+        creatorId = jdbcTemplate.queryForObject("SELECT min(id) FROM creator WHERE name LIKE 'Index creator %'", Long.class);
+    }
+
+    @AfterAll
+    void removeArtifacts() {
+        jdbcTemplate.execute("TRUNCATE artifact");
+        jdbcTemplate.update("DELETE FROM creator WHERE name LIKE 'Index creator %'");
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void shouldFilterThroughIndexes(Filter filter) {
+        ArtifactListRequestDto request = filter.toListRequest(creatorId);
+
+        List<QueryPlanRecorder.QueryPlan> plans = queryPlanRecorder.record(() -> {
+            ArtifactListResponseDto page = artifactService.getPageableArtifactsList(request);
+            if (page.getNextCursor() != null) {
+                request.setCursor(page.getNextCursor());
+                artifactService.getPageableArtifactsList(request);
+            }
+        });
+
+        assertNoSeqScan(plans);
+    }
+
+    @ParameterizedTest
+    @MethodSource("searchQueries")
+    void shouldSearchThroughIndex(String query) {
+        ArtifactSearchRequestDto request = new ArtifactSearchRequestDto();
+        request.setQuery(query);
+        assertNoSeqScan(queryPlanRecorder.record(() -> artifactService.searchArtifacts(request)));
+
+        request.setPowerFrom(9990);
+        assertNoSeqScan(queryPlanRecorder.record(() -> artifactService.searchArtifacts(request)));
+    }
+
+    static Stream<String> searchQueries() {
+        return Stream.of("origin-17", "tag-17 origin-17", "\"tag-17\" -origin-42", "tag-17 or tag-42");
+    }
+
+    private static void assertNoSeqScan(List<QueryPlanRecorder.QueryPlan> plans) {
+        assertFalse(plans.isEmpty(), "No query was executed");
+        for (QueryPlanRecorder.QueryPlan plan : plans) {
+            assertTrue(plan.plan().stream().noneMatch(line -> line.contains("Seq Scan on artifact")),
+                    () -> "Sequential scan for " + plan);
+        }
+    }
+
+    static Stream<Filter> filterCombinations() {
+        List<Filter> filters = new ArrayList<>();
+        for (boolean byCreator : new boolean[]{false, true}) {
+            for (boolean byOrigin : new boolean[]{false, true}) {
+                for (Tags tags : Tags.values()) {
+                    for (Range year : Range.values()) {
+                        for (Range power : Range.values()) {
+                            Filter filter = new Filter(byCreator, byOrigin, tags, year, power);
+                            if (!filter.isEmpty()) {
+                                filters.add(filter);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return filters.stream();
+    }
+
+    enum Tags {
+        NONE, ANY, ALL
+    }
+
+    // BETWEEN matches about 1% of the rows, FROM and TO about 0.1%
+    enum Range {
+        NONE, BETWEEN, FROM, TO
+    }
+
+    record Filter(boolean byCreator, boolean byOrigin, Tags tags, Range year, Range power) {
+
+        boolean isEmpty() {
+            return !byCreator && !byOrigin && tags == Tags.NONE && year == Range.NONE && power == Range.NONE;
+        }
+
+        ArtifactListRequestDto toListRequest(Long creatorId) {
+            ArtifactListRequestDto request = new ArtifactListRequestDto();
+            request.setCountMode(ArtifactCountMode.EXACT);
+            if (byCreator) {
+                request.setCreatorId(creatorId);
+            }
+            if (byOrigin) {
+                request.setOrigin("Origin-17");
+            }
+            switch (tags) {
+                case ANY -> request.setTagsAny(List.of("Tag-17", "tag-42"));
+                case ALL -> request.setTagsAll(List.of("ring", "TAG-17"));
+                case NONE -> {
+                }
+            }
+            switch (year) {
+                case BETWEEN -> {
+                    request.setYearFrom(5000);
+                    request.setYearTo(5100);
+                }
+                case FROM -> request.setYearFrom(9990);
+                case TO -> request.setYearTo(10);
+                case NONE -> {
+                }
+            }
+            switch (power) {
+                case BETWEEN -> {
+                    request.setPowerFrom(5000);
+                    request.setPowerTo(5100);
+                }
+                case FROM -> request.setPowerFrom(9990);
+                case TO -> request.setPowerTo(10);
+                case NONE -> {
+                }
+            }
+            return request;
+        }
+    }
+}
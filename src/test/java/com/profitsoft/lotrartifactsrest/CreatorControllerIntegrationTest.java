@@ -2,10 +2,14 @@ package com.profitsoft.lotrartifactsrest;
 
 import tools.jackson.databind.ObjectMapper;
 import com.profitsoft.lotrartifactsrest.dto.CreatorSaveDto;
+import com.profitsoft.lotrartifactsrest.model.Artifact;
 import com.profitsoft.lotrartifactsrest.model.Creator;
+import com.profitsoft.lotrartifactsrest.repository.ArtifactRepository;
 import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import com.profitsoft.lotrartifactsrest.service.CreatorCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
@@ -17,9 +21,10 @@ import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "artifact.stats.summary.refresh-interval=1d")
 @AutoConfigureMockMvc
-@Import(TestcontainersConfiguration.class)
+@Import({TestcontainersConfiguration.class, StatementCountingConfiguration.class})
+@ExtendWith(StatementBudgetExtension.class)
 class CreatorControllerIntegrationTest {
 
     @Autowired
@@ -31,12 +36,21 @@ class CreatorControllerIntegrationTest {
     @Autowired
     private CreatorRepository creatorRepository;
 
+    @Autowired
+    private ArtifactRepository artifactRepository;
+
+    @Autowired
+    private CreatorCache creatorCache;
+
     @BeforeEach
     void setUp() {
+        artifactRepository.deleteAll();
         creatorRepository.deleteAll();
+        creatorCache.invalidateAll();
     }
 
     @Test
+    @StatementBudget(1)
     void shouldCreateCreator() throws Exception {
         CreatorSaveDto request = CreatorSaveDto.builder()
                 .name("Gandalf")
@@ -55,6 +69,7 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(1)
     void shouldRejectDuplicateCreatorNameOnCreate() throws Exception {
         Creator existing = new Creator();
         existing.setName("Elrond");
@@ -75,6 +90,28 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(1)
+    void shouldRejectDuplicateCreatorNameIgnoringCase() throws Exception {
+        Creator existing = new Creator();
+        existing.setName("Elrond");
+        existing.setRace("Elf");
+        existing.setRealm("Rivendell");
+        creatorRepository.save(existing);
+
+        CreatorSaveDto request = CreatorSaveDto.builder()
+                .name("ELROND")
+                .race("Elf")
+                .realm("Rivendell")
+                .build();
+
+        mockMvc.perform(post("/api/creators")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @StatementBudget(1)
     void shouldGetCreatorById() throws Exception {
         Creator creator = new Creator();
         creator.setName("Thror");
@@ -91,6 +128,7 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(1)
     void shouldUpdateCreator() throws Exception {
         Creator creator = new Creator();
         creator.setName("Saruman");
@@ -113,6 +151,44 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(3)
+    void shouldServeUpdatedCreatorAfterCachedRead() throws Exception {
+        Creator creator = new Creator();
+        creator.setName("Galadriel");
+        creator.setRace("Elf");
+        creator.setRealm("Lothlorien");
+        creator = creatorRepository.save(creator);
+
+        mockMvc.perform(get("/api/creators/{id}", creator.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.realm", is("Lothlorien")));
+
+        CreatorSaveDto updateRequest = CreatorSaveDto.builder()
+                .name("Galadriel")
+                .race("Elf")
+                .realm("Valinor")
+                .build();
+
+        mockMvc.perform(put("/api/creators/{id}", creator.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/creators/{id}", creator.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.realm", is("Valinor")));
+
+        mockMvc.perform(get("/api/creators/{id}", creator.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/creators/_cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.missCount", greaterThanOrEqualTo(2)));
+    }
+
+    @Test
+    @StatementBudget(1)
     void shouldEnforceUniqueNameOnUpdate() throws Exception {
         Creator first = new Creator();
         first.setName("Thingol");
@@ -139,6 +215,7 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(2)
     void shouldDeleteCreator() throws Exception {
         Creator creator = new Creator();
         creator.setName("Durin");
@@ -154,6 +231,25 @@ class CreatorControllerIntegrationTest {
     }
 
     @Test
+    @StatementBudget(2)
+    void shouldReturnNotFoundForMissingCreatorOnWrite() throws Exception {
+        CreatorSaveDto updateRequest = CreatorSaveDto.builder()
+                .name("Morgoth")
+                .race("Vala")
+                .realm("Angband")
+                .build();
+
+        mockMvc.perform(put("/api/creators/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/creators/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @StatementBudget(1)
     void shouldReturnAllCreators() throws Exception {
         Creator first = new Creator();
         first.setName("Cirdan");
@@ -171,4 +267,73 @@ class CreatorControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].name", containsInAnyOrder("Cirdan", "Beren")));
     }
+
+    @Test
+    @StatementBudget(2)
+    void shouldPageCreatorsByKeyset() throws Exception {
+        Creator first = createCreator("Cirdan", "Elf", "Havens");
+        Creator second = createCreator("Beren", "Man", "Dorthonion");
+        Creator third = createCreator("Luthien", "Elf", "Doriath");
+
+        String next = mockMvc.perform(get("/api/creators").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(first.getId().intValue(), second.getId().intValue())))
+                .andExpect(jsonPath("$[0].stats").doesNotExist())
+                .andExpect(header().string("Link", containsString("afterId=" + second.getId())))
+                .andReturn().getResponse().getHeader("Link");
+
+        String nextUri = next.substring(next.indexOf('<') + 1, next.indexOf('>'));
+        mockMvc.perform(get(nextUri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(third.getId().intValue())))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @StatementBudget(1)
+    void shouldReturnCreatorsWithArtifactStats() throws Exception {
+        Creator celebrimbor = createCreator("Celebrimbor", "Elf", "Eregion");
+        Creator beren = createCreator("Beren", "Man", "Dorthonion");
+        createArtifact("Narya", celebrimbor, 1590, 8000);
+        createArtifact("Nenya", celebrimbor, 1600, 8200);
+        createArtifact("Vilya", celebrimbor, 1610, null);
+
+        mockMvc.perform(get("/api/creators").param("withStats", "true").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("Celebrimbor")))
+                .andExpect(jsonPath("$[0].stats.artifactCount", is(3)))
+                .andExpect(jsonPath("$[0].stats.maxPowerLevel", is(8200)))
+                .andExpect(jsonPath("$[0].stats.avgPowerLevel", closeTo(8100.0, 0.001)))
+                .andExpect(jsonPath("$[0].stats.minYearCreated", is(1590)))
+                .andExpect(jsonPath("$[0].stats.maxYearCreated", is(1610)))
+                .andExpect(jsonPath("$[1].id", is(beren.getId().intValue())))
+                .andExpect(jsonPath("$[1].stats.artifactCount", is(0)))
+                .andExpect(jsonPath("$[1].stats.maxPowerLevel").doesNotExist())
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRejectInvalidCreatorPageSize() throws Exception {
+        mockMvc.perform(get("/api/creators").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Creator createCreator(String name, String race, String realm) {
+        Creator creator = new Creator();
+        creator.setName(name);
+        creator.setRace(race);
+        creator.setRealm(realm);
+        return creatorRepository.save(creator);
+    }
+
+    private void createArtifact(String name, Creator creator, Integer yearCreated, Integer powerLevel) {
+        Artifact artifact = new Artifact();
+        artifact.setName(name);
+        artifact.setCreator(creator);
+        artifact.setYearCreated(yearCreated);
+        artifact.setPowerLevel(powerLevel);
+        artifactRepository.save(artifact);
+    }
 }
@@ -0,0 +1,134 @@
+package com.profitsoft.lotrartifactsrest;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wraps the application {@link DataSource} so that, while a {@link QueryPlanRecorder} records, every executed SELECT
+ * is also EXPLAINed on the same connection with the same bind values. Tests check the plans of the SQL the application
+ * generates this way, rather than of hand-written copies of it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class QueryPlanConfiguration {
+
+    @Bean
+    QueryPlanRecorder queryPlanRecorder() {
+        return new QueryPlanRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor queryPlanDataSourcePostProcessor(ObjectProvider<QueryPlanRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof PlanRecordingDataSource)
+                        ? new PlanRecordingDataSource(dataSource, recorder)
+                        : bean;
+            }
+        };
+    }
+
+    private static final class PlanRecordingDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<QueryPlanRecorder> recorder;
+
+        private PlanRecordingDataSource(DataSource target, ObjectProvider<QueryPlanRecorder> recorder) {
+            super(target);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recordingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recordingConnection(super.getConnection(username, password));
+        }
+
+        private Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                return method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+                        ? recordingStatement(connection, statement, (String) args[0])
+                        : result;
+            });
+        }
+
+        // Bind calls are replayed on the EXPLAIN statement, so it is planned with the values the query runs with
+        private PreparedStatement recordingStatement(Connection connection, PreparedStatement statement, String sql) {
+            List<Bind> binds = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    binds.add(new Bind(method, args));
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                } else if (name.startsWith("execute") && isSelect(sql) && recorder.getObject().isRecording()) {
+                    recorder.getObject().add(sql, explain(connection, sql, binds));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static boolean isSelect(String sql) {
+            String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return statement.startsWith("select") || statement.startsWith("with");
+        }
+
+        private static List<String> explain(Connection connection, String sql, List<Bind> binds) throws Throwable {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Bind bind : binds) {
+                    invoke(explain, bind.method(), bind.args());
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan;
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+            return type.cast(Proxy.newProxyInstance(QueryPlanConfiguration.class.getClassLoader(),
+                    new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+                        case "unwrap", "isWrapperFor" -> invoke(target, method, args);
+                        default -> invocation.invoke(method, args);
+                    }));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    private record Bind(Method method, Object[] args) {
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,42 @@
+package com.profitsoft.lotrartifactsrest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the plans of the SELECT statements the application executes while {@link #record(Runnable)} runs.
+ * Plans are taken by {@link QueryPlanConfiguration} on the executing connection, with the statement's own bind values.
+ */
+public class QueryPlanRecorder {
+
+    private final List<QueryPlan> plans = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean recording;
+
+    public List<QueryPlan> record(Runnable action) {
+        plans.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(plans);
+    }
+
+    boolean isRecording() {
+        return recording;
+    }
+
+    void add(String sql, List<String> plan) {
+        plans.add(new QueryPlan(sql, plan));
+    }
+
+    public record QueryPlan(String sql, List<String> plan) {
+
+        @Override
+        public String toString() {
+            return sql + "\n" + String.join("\n", plan);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.profitsoft.lotrartifactsrest;
+
+import com.profitsoft.lotrartifactsrest.datasource.ReadYourWritesFilter;
+import com.profitsoft.lotrartifactsrest.model.Artifact;
+import com.profitsoft.lotrartifactsrest.model.Creator;
+import com.profitsoft.lotrartifactsrest.repository.ArtifactRepository;
+import com.profitsoft.lotrartifactsrest.repository.CreatorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a stand-in replica: the test database itself, reached through its own pool under another
+ * application name, so the server can tell which pool a statement came from. Tests writing through the API get a
+ * fresh context, since any write keeps tagged reads on the primary for {@code max-lag}.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.read-your-writes=true",
+        "datasource.replicas.max-lag=1m",
+        "artifact.stats.summary.refresh-interval=1d"})
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, StatementCountingConfiguration.class, ReplicaRoutingIntegrationTest.ReplicaConfiguration.class})
+@ExtendWith(StatementBudgetExtension.class)
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_APPLICATION_NAME = "replica-stand-in";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ArtifactRepository artifactRepository;
+
+    @Autowired
+    private CreatorRepository creatorRepository;
+
+    private Artifact artifact;
+
+    @BeforeEach
+    void setUp() {
+        artifactRepository.deleteAll();
+        creatorRepository.deleteAll();
+
+        Creator creator = new Creator();
+        creator.setName("Celebrimbor");
+        creator.setRace("Elf");
+        creator.setRealm("Eregion");
+        creator = creatorRepository.save(creator);
+
+        Artifact ring = new Artifact();
+        ring.setName("Narya");
+        ring.setCreator(creator);
+        ring.setOrigin("Eregion");
+        ring.setTags("ring");
+        ring.setYearCreated(1590);
+        ring.setPowerLevel(8500);
+        artifact = artifactRepository.save(ring);
+    }
+
+    @Test
+    @StatementBudget(0)
+    void shouldRouteOnlyReadOnlyTransactionsToReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertEquals(REPLICA_APPLICATION_NAME, readOnly.execute(status -> applicationName()));
+        assertNotEquals(REPLICA_APPLICATION_NAME, new TransactionTemplate(transactionManager).execute(status -> applicationName()));
+        assertNotEquals(REPLICA_APPLICATION_NAME, applicationName());
+    }
+
+    @Test
+    @StatementBudget(1)
+    void shouldServeReadsFromReplica() throws Exception {
+        long replicaConnections = replicaConnectionCount();
+
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "reader"))
+                .andExpect(status().isOk());
+
+        assertEquals(replicaConnections + 1, replicaConnectionCount());
+    }
+
+    @Test
+    @StatementBudget(3)
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldReadOwnWritesFromPrimary() throws Exception {
+        long replicaConnections = replicaConnectionCount();
+
+        mockMvc.perform(patch("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"powerLevel\": 9000}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "writer"))
+                .andExpect(status().isOk());
+
+        // Neither the read-back of the patch nor the next read of the same client waits for replication
+        assertEquals(replicaConnections, replicaConnectionCount());
+    }
+
+    @Test
+    @StatementBudget(4)
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldNotTagReplicaRowsRightAfterWrite() throws Exception {
+        String staleEtag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        long replicaConnections = replicaConnectionCount();
+
+        mockMvc.perform(patch("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"powerLevel\": 9000}"))
+                .andExpect(status().isOk());
+
+        // Another client revalidating within max-lag is answered from the primary, which has the write
+        String etag = mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "reader")
+                        .header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.powerLevel", is(9000)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(replicaConnections, replicaConnectionCount());
+        assertNotEquals(staleEtag, etag);
+
+        mockMvc.perform(get("/api/artifact/{id}", artifact.getId())
+                        .header(ReadYourWritesFilter.CLIENT_HEADER, "reader")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    private String applicationName() {
+        return jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class);
+    }
+
+    private long replicaConnectionCount() {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", "replica-1").timer();
+        return usage == null ? 0 : usage.count();
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class ReplicaConfiguration {
+
+        @Bean
+        DynamicPropertyRegistrar replicaProperties(PostgreSQLContainer postgres) {
+            return registry -> {
+                registry.add("datasource.replicas.urls", () -> postgres.getJdbcUrl()
+                        + (postgres.getJdbcUrl().contains("?") ? "&" : "?") + "ApplicationName=" + REPLICA_APPLICATION_NAME);
+                registry.add("datasource.replicas.username", postgres::getUsername);
+                registry.add("datasource.replicas.password", postgres::getPassword);
+            };
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.profitsoft.lotrartifactsrest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the SQL statements executed while a test runs. Statements issued by the test thread itself outside
+ * a request (fixtures, repository assertions) are ignored; statements of requests and of the work they hand off
+ * to other threads, such as report streaming, import writers and background jobs, are recorded.
+ */
+public class SqlStatementCounter {
+
+    private final ThreadLocal<Boolean> inRequest = ThreadLocal.withInitial(() -> false);
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile Thread testThread;
+    private volatile boolean recording;
+
+    public void start(Thread testThread) {
+        statements.clear();
+        this.testThread = testThread;
+        this.recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public List<String> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public void assertAtMost(int max) {
+        List<String> executed = statements();
+        assertTrue(executed.size() <= max, () -> "Expected at most %d SQL statements but %d were executed:%n  %s"
+                .formatted(max, executed.size(), String.join(System.lineSeparator() + "  ", executed)));
+    }
+
+    void record(String sql) {
+        if (recording && (Thread.currentThread() != testThread || inRequest.get())) {
+            statements.add(sql);
+        }
+    }
+
+    void enterRequest() {
+        inRequest.set(true);
+    }
+
+    void exitRequest() {
+        inRequest.set(false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.profitsoft.lotrartifactsrest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements the requests of a test may execute, checked by {@link StatementBudgetExtension}.
+ * A COPY counts as one statement, however many rows it streams.
+ * Budgets leave room for one extra sequence fetch when new artifact ids have to be allocated.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,36 @@
+package com.profitsoft.lotrartifactsrest;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Requires every test to declare a {@link StatementBudget} and fails it when its requests execute more statements.
+ * The test class must import {@link StatementCountingConfiguration}.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (!context.getRequiredTestMethod().isAnnotationPresent(StatementBudget.class)) {
+            throw new ExtensionConfigurationException(
+                    "%s must declare its @StatementBudget".formatted(context.getRequiredTestMethod().getName()));
+        }
+        counter(context).start(Thread.currentThread());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementCounter counter = counter(context);
+        counter.stop();
+        if (context.getExecutionException().isEmpty()) {
+            counter.assertAtMost(context.getRequiredTestMethod().getAnnotation(StatementBudget.class).value());
+        }
+    }
+
+    private static SqlStatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementCounter.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.profitsoft.lotrartifactsrest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyDual;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the application {@link DataSource} so every executed JDBC statement and every COPY started through
+ * {@link PGConnection#getCopyAPI()} is reported to a {@link SqlStatementCounter}, and marks MockMvc requests so the counter can tell them apart from test fixtures.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class StatementCountingConfiguration {
+
+    @Bean
+    SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                        ? new CountingDataSource(dataSource, counter)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    OncePerRequestFilter statementCountingFilter(SqlStatementCounter counter) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                counter.enterRequest();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    counter.exitRequest();
+                }
+            }
+        };
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<SqlStatementCounter> counter;
+
+        private CountingDataSource(DataSource target, ObjectProvider<SqlStatementCounter> counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+
+        private Connection countingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                // COPY runs on the driver connection rather than through a JDBC statement, so it is counted there
+                if (method.getName().equals("unwrap") && args[0] == PGConnection.class) {
+                    return countingPgConnection(connection.unwrap(BaseConnection.class));
+                }
+                Object result = invoke(connection, method, args);
+                return switch (result) {
+                    case CallableStatement statement -> countingStatement(CallableStatement.class, statement, (String) args[0]);
+                    case PreparedStatement statement -> countingStatement(PreparedStatement.class, statement, (String) args[0]);
+                    case Statement statement -> countingStatement(Statement.class, statement, null);
+                    case null, default -> result;
+                };
+            });
+        }
+
+        private PGConnection countingPgConnection(BaseConnection connection) {
+            return proxy(PGConnection.class, connection, (method, args) -> method.getName().equals("getCopyAPI")
+                    ? countingCopyManager(connection)
+                    : invoke(connection, method, args));
+        }
+
+        // Every COPY counts once however many rows it streams; the convenience overloads go through these three
+        private CopyManager countingCopyManager(BaseConnection connection) throws SQLException {
+            return new CopyManager(connection) {
+                @Override
+                public CopyIn copyIn(String sql) throws SQLException {
+                    counter.getObject().record(sql);
+                    return super.copyIn(sql);
+                }
+
+                @Override
+                public CopyOut copyOut(String sql) throws SQLException {
+                    counter.getObject().record(sql);
+                    return super.copyOut(sql);
+                }
+
+                @Override
+                public CopyDual copyDual(String sql) throws SQLException {
+                    counter.getObject().record(sql);
+                    return super.copyDual(sql);
+                }
+            };
+        }
+
+        // Every execute* call is one round-trip; a JDBC batch counts once
+        private <S extends Statement> S countingStatement(Class<S> type, S statement, String preparedSql) {
+            return proxy(type, statement, (method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : method.getName();
+                    counter.getObject().record(sql);
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+            return type.cast(Proxy.newProxyInstance(StatementCountingConfiguration.class.getClassLoader(),
+                    new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+                        case "unwrap" -> type == Connection.class && args[0] == PGConnection.class
+                                ? invocation.invoke(method, args)
+                                : invoke(target, method, args);
+                        case "isWrapperFor" -> invoke(target, method, args);
+                        default -> invocation.invoke(method, args);
+                    }));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}